@@ -0,0 +1,106 @@
+package circlepong.bench;
+
+import circlepong.core.Ball;
+import circlepong.core.GameConfig;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Ruleset;
+import circlepong.vector.BallBatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One physics tick for many balls: move, then test against the rim. OBJECTS is the per-ball code the game runs
+ * today ({@link Ball#update} and the hypot rim test over an array of heap objects). SCALAR and VECTOR are the
+ * {@link BallBatch} kernels over primitive columns. A ball that reaches the rim goes back to the centre, so the
+ * rare collision path costs about the same in all three.
+ *
+ * Usage: mvn -B -Pvector package, then java -jar bench/target/benchmarks.jar BallBatchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BallBatchBenchmark {
+    private static final int CENTER = GameSimulation.WORLD_SIZE / 2;
+    private static final long SEED = 1;
+
+    @Param({"1024", "16384"})
+    public int balls;
+
+    @Param({"OBJECTS", "SCALAR", "VECTOR"})
+    public String implementation;
+
+    private GameConfig config;
+    private double rimDistance;
+    private Ball[] objects;
+    private BallBatch batch;
+    private int[] rimHits;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = GameConfig.DEFAULTS;
+        rimDistance = config.getArenaRadius() - config.getBallDiameter() / 2.0;
+        GameRandom random = new GameRandom(SEED);
+        if (implementation.equals("OBJECTS")) {
+            objects = new Ball[balls];
+            for (int i = 0; i < balls; i++) {
+                objects[i] = new Ball(CENTER, CENTER, config, Ruleset.ENHANCED, random);
+            }
+        } else {
+            batch = new BallBatch(balls, CENTER, CENTER, config, BallBatch.Kernel.valueOf(implementation));
+            rimHits = new int[balls];
+            for (int i = 0; i < balls; i++) {
+                double angle = random.nextDouble() * 2 * Math.PI;
+                double speed = config.getInitialBallSpeed();
+                batch.add(CENTER, CENTER, Math.cos(angle) * speed, Math.sin(angle) * speed);
+            }
+        }
+        // Spread the balls out so rim hits are staggered over the ticks instead of arriving together
+        int spreadTicks = (int) (rimDistance / config.getInitialBallSpeed());
+        for (int i = 0; i < balls; i++) {
+            int ticks = i % spreadTicks;
+            if (objects != null) {
+                for (int t = 0; t < ticks; t++) objects[i].update();
+            } else {
+                batch.set(i, CENTER + batch.getVelX(i) * ticks, CENTER + batch.getVelY(i) * ticks, batch.getVelX(i), batch.getVelY(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        if (objects != null) {
+            int hits = 0;
+            for (Ball ball : objects) {
+                ball.update();
+                if (ball.getDistanceFromCenter() >= rimDistance) {
+                    ball.reset(config);
+                    hits++;
+                }
+            }
+            return hits;
+        }
+        int hits = batch.step(rimHits);
+        for (int h = 0; h < hits; h++) {
+            int i = rimHits[h];
+            batch.set(i, CENTER, CENTER, batch.getVelX(i), batch.getVelY(i));
+        }
+        return hits;
+    }
+}
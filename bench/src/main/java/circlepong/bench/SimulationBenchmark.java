@@ -0,0 +1,86 @@
+package circlepong.bench;
+
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Ruleset;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of the headless simulation under each ruleset, and the cost of saving, restoring and forking a
+ * match. Each trial starts from the same seeded AI-vs-AI match, warmed past the serve so the ball is in play.
+ *
+ * Usage: java -jar bench/target/benchmarks.jar SimulationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulationBenchmark {
+    private static final long SEED = 1;
+    private static final int WARMUP_TICKS = 600;
+
+    @Param({"ENHANCED", "CLASSIC"})
+    public Ruleset ruleset;
+
+    @Param({"false", "true"})
+    public boolean planningAi;
+
+    private GameConfig config;
+    private GameSimulation simulation;
+    private ByteBuffer snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = ruleset.getDefaultConfig();
+        simulation = new GameSimulation(ruleset, GameMode.TWO_AI, config, planningAi, new GameRandom(SEED));
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            simulation.tick(config, 0, 0);
+        }
+        snapshot = ByteBuffer.allocate(GameSimulation.SNAPSHOT_SIZE);
+        simulation.writeSnapshot(snapshot);
+    }
+
+    @Benchmark
+    public int tick() {
+        simulation.tick(config, 0, 0);
+        return simulation.getLeftScore() + simulation.getRightScore();
+    }
+
+    @Benchmark
+    public ByteBuffer writeSnapshot() {
+        snapshot.clear();
+        simulation.writeSnapshot(snapshot);
+        return snapshot;
+    }
+
+    @Benchmark
+    public GameSimulation restoreSnapshot() {
+        snapshot.flip();
+        simulation.restoreSnapshot(snapshot);
+        return simulation;
+    }
+
+    @Benchmark
+    public GameSimulation fork() {
+        return simulation.fork();
+    }
+}
@@ -0,0 +1,101 @@
+package circlepong.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures time to first frame for Enhanced Circle Pong: launches fresh JVMs, each of which exits as soon as its first
+ * frame is on screen, and times them from process start to the report line. Compares a plain launch, a launch from
+ * an AppCDS archive, and an archive launch with warm-up. Needs a display.
+ *
+ * JMH doesn't fit here, since every sample has to be a cold JVM.
+ *
+ * Usage: java -cp bench/target/benchmarks.jar circlepong.bench.StartupBenchmark [--runs=5] [--warmup=5000]
+ *            [--module-path=core/target/...jar:server/target/...jar:desktop/target/...jar]
+ */
+public class StartupBenchmark {
+    private static final String MAIN = "circlepong.desktop/circlepong.desktop.EnhancedCirclePong";
+    private static final String DEFAULT_MODULE_PATH = String.join(File.pathSeparator,
+            "core/target/circlepong-core-1.0-SNAPSHOT.jar",
+            "server/target/circlepong-server-1.0-SNAPSHOT.jar",
+            "desktop/target/circlepong-desktop-1.0-SNAPSHOT.jar");
+    private static final String REPORT_PREFIX = "First frame";
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        int warmupTicks = 5000;
+        String modulePath = DEFAULT_MODULE_PATH;
+        for (String arg : args) {
+            if (arg.startsWith("--runs=")) runs = Integer.parseInt(arg.substring("--runs=".length()));
+            else if (arg.startsWith("--warmup=")) warmupTicks = Integer.parseInt(arg.substring("--warmup=".length()));
+            else if (arg.startsWith("--module-path=")) modulePath = arg.substring("--module-path=".length());
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Path archiveDirectory = Files.createTempDirectory("circlepong-cds");
+        Path archive = archiveDirectory.resolve("circlepong.jsa");
+        try {
+            // Train the archive with the same warm-up the fast-start launcher uses
+            launch(java, List.of("-XX:ArchiveClassesAtExit=" + archive), modulePath, "--warmup=" + warmupTicks);
+
+            String useArchive = "-XX:SharedArchiveFile=" + archive;
+            measure("plain", runs, java, List.of(), modulePath);
+            measure("AppCDS", runs, java, List.of(useArchive), modulePath);
+            measure("AppCDS + warm-up", runs, java, List.of(useArchive), modulePath, "--warmup=" + warmupTicks);
+        } finally {
+            Files.deleteIfExists(archive);
+            Files.delete(archiveDirectory);
+        }
+    }
+
+    private static void measure(String name, int runs, String java, List<String> jvmOptions, String modulePath,
+                                String... gameOptions) throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = launch(java, jvmOptions, modulePath, gameOptions);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-18s first frame after min %5d ms, median %5d ms, max %5d ms (%d runs)%n",
+                name, millis[0], millis[runs / 2], millis[runs - 1], runs);
+    }
+
+    /** Starts one game JVM and returns the milliseconds until it reports its first frame. */
+    private static long launch(String java, List<String> jvmOptions, String modulePath, String... gameOptions)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-p", modulePath, "-m", MAIN));
+        command.addAll(Arrays.asList(gameOptions));
+        command.add("--exit-after-first-frame");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long firstFrameNanos = -1;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (firstFrameNanos < 0 && line.startsWith(REPORT_PREFIX)) {
+                    firstFrameNanos = System.nanoTime() - start;
+                }
+                output.append(line).append('\n');
+            }
+        }
+        int exitCode = process.waitFor();
+        if (firstFrameNanos < 0) {
+            throw new IllegalStateException("Game exited with " + exitCode + " before its first frame:\n" + output);
+        }
+        return firstFrameNanos / 1_000_000;
+    }
+}
@@ -0,0 +1,100 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Controls an AI paddle using smooth proportional movement and stable prediction.
+ */
+public class AiController {
+    private double responsiveness; // How quickly the AI reacts (higher is faster)
+    private double accuracy;       // How precise the AI is (higher is more accurate)
+    private final int centerX, centerY;
+    private final int radius;
+    protected final GameRandom random; // The match's random source, shared with the ball
+
+    // A stable error offset to prevent jitter from random calculations each frame
+    private double currentInaccuracyOffset = 0.0;
+    private int framesUntilNextInaccuracyCheck = 0;
+
+    public AiController(double responsiveness, double accuracy, int centerX, int centerY, int radius, GameRandom random) {
+        this.responsiveness = responsiveness;
+        this.accuracy = accuracy;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        this.random = random;
+    }
+
+    public void updatePaddle(Paddle paddle, Ball ball, GameConfig config) {
+        double predictedAngle = predictBallInterceptAngle(ball);
+
+        if (predictedAngle != -1) {
+            // --- Stable Inaccuracy Logic ---
+            // Only recalculate the AI's "mistake" periodically, not every frame.
+            framesUntilNextInaccuracyCheck--;
+            if (framesUntilNextInaccuracyCheck <= 0) {
+                if (random.nextDouble() > this.accuracy) {
+                    // The size of the error depends on the AI's accuracy level.
+                    double errorMagnitude = (1.0 - this.accuracy) * 0.6;
+                    this.currentInaccuracyOffset = (random.nextDouble() - 0.5) * errorMagnitude;
+                } else {
+                    this.currentInaccuracyOffset = 0.0; // Perfect accuracy on this check
+                }
+                framesUntilNextInaccuracyCheck = 10 + (int)(random.nextDouble() * 15); // Check again in ~150-400ms
+            }
+
+            double targetAngle = predictedAngle + aimOffset(paddle, ball, predictedAngle, config) + this.currentInaccuracyOffset;
+
+            // --- Proportional Movement Logic ---
+            double angleDifference = BallTrajectory.angleBetween(paddle.getAngle(), targetAngle);
+            double moveDelta = angleDifference * this.responsiveness;
+            paddle.moveBy(moveDelta);
+        }
+    }
+
+    public double predictBallInterceptAngle(Ball ball) {
+        double currentX = ball.getX();
+        double currentY = ball.getY();
+        double currentVelX = ball.getVelX();
+        double currentVelY = ball.getVelY();
+
+        for (int i = 0; i < predictionTicks(); i++) {
+            currentX += currentVelX;
+            currentY += currentVelY;
+            if (ball.isAtLeast(currentX, currentY, radius - ball.getSize() / 2.0)) {
+                return Math.atan2(currentY - centerY, currentX - centerX);
+            }
+        }
+        return -1; // Prediction failed
+    }
+
+    /** How many ticks ahead {@link #predictBallInterceptAngle} looks before giving up. */
+    protected int predictionTicks() {
+        return 120;
+    }
+
+    /**
+     * How far from the predicted intercept the paddle centre should sit, i.e. which part of the paddle takes the hit.
+     * The reactive AI always meets the ball head-on.
+     */
+    protected double aimOffset(Paddle paddle, Ball ball, double interceptAngle, GameConfig config) {
+        return 0.0;
+    }
+
+    /** Difficulty plus the current mistake and when it is next re-rolled: 28 bytes. */
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(responsiveness).putDouble(accuracy).putDouble(currentInaccuracyOffset).putInt(framesUntilNextInaccuracyCheck);
+    }
+
+    void readState(ByteBuffer buffer) {
+        responsiveness = buffer.getDouble();
+        accuracy = buffer.getDouble();
+        currentInaccuracyOffset = buffer.getDouble();
+        framesUntilNextInaccuracyCheck = buffer.getInt();
+    }
+
+    public void setResponsiveness(double responsiveness) { this.responsiveness = responsiveness; }
+    public void setAccuracy(double accuracy) { this.accuracy = accuracy; }
+    public double getAccuracy() { return accuracy; }
+    public double getResponsiveness() { return responsiveness; }
+}
@@ -0,0 +1,91 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents the game ball, handling its movement and collision physics.
+ */
+public class Ball {
+    private double x, y, velX, velY, speed;
+    private final int size;
+    private final int centerX, centerY;
+    private final Ruleset ruleset;
+    private final GameRandom random;
+
+    public Ball(int centerX, int centerY, GameConfig config, Ruleset ruleset, GameRandom random) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.ruleset = ruleset;
+        this.random = random;
+        this.size = config.getBallDiameter();
+        reset(config);
+    }
+
+    public void reset(GameConfig config) {
+        x = centerX;
+        y = centerY;
+        double angle = random.nextDouble() * 2 * Math.PI;
+        speed = config.getInitialBallSpeed();
+        velX = Math.cos(angle) * speed;
+        velY = Math.sin(angle) * speed;
+    }
+
+    public void update() {
+        x += velX;
+        y += velY;
+    }
+
+    public void handlePaddleCollision(double paddleAngle, GameConfig config) {
+        // Add slight randomness to the bounce
+        double jitterX = (random.nextDouble() - 0.5) * ruleset.getBounceJitter();
+        double jitterY = (random.nextDouble() - 0.5) * ruleset.getBounceJitter();
+
+        double[] state = {x, y, velX, velY, speed};
+        BallTrajectory.paddleHit(state, paddleAngle, jitterX, jitterY, centerX, centerY, config, ruleset);
+        x = state[0];
+        y = state[1];
+        velX = state[2];
+        velY = state[3];
+        speed = state[4];
+    }
+
+    /** Position, velocity and speed: 40 bytes. Size and arena come from the layout and aren't saved. */
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(x).putDouble(y).putDouble(velX).putDouble(velY).putDouble(speed);
+    }
+
+    void readState(ByteBuffer buffer) {
+        x = buffer.getDouble();
+        y = buffer.getDouble();
+        velX = buffer.getDouble();
+        velY = buffer.getDouble();
+        speed = buffer.getDouble();
+    }
+
+    public double getDistanceFromCenter() { return distanceFromCenter(x, y); }
+    /** Distance of any point from the arena centre, measured the way the ruleset's collision check does. */
+    public double distanceFromCenter(double pointX, double pointY) { return ruleset.length(pointX - centerX, pointY - centerY); }
+    /**
+     * Whether a point is at least {@code limit} from the centre, with the same answer as comparing
+     * {@link #distanceFromCenter}. Points clearly inside or outside are settled with squares, which is much cheaper
+     * than the length; only points within a hair of the limit pay for it.
+     */
+    public boolean isAtLeast(double pointX, double pointY, double limit) {
+        if (limit <= 0) return distanceFromCenter(pointX, pointY) >= limit;
+        double dx = pointX - centerX, dy = pointY - centerY;
+        double squared = dx * dx + dy * dy;
+        double inside = limit * (1 - 1e-9), outside = limit * (1 + 1e-9); // Far more margin than the rounding in either length
+        if (squared < inside * inside) return false;
+        if (squared > outside * outside) return true;
+        return distanceFromCenter(pointX, pointY) >= limit;
+    }
+    public double getAngleFromCenter() { return Math.atan2(y - centerY, x - centerX); }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getVelX() { return velX; }
+    public double getVelY() { return velY; }
+    public int getSize() { return size; }
+    public double getSpeed() {
+        return speed;
+    }
+}
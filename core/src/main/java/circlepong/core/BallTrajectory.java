@@ -0,0 +1,155 @@
+package circlepong.core;
+
+/**
+ * Analytic ball flight math: straight-line segments between rim contacts and the paddle bounce that links them.
+ * Mirrors the per-tick integration in {@link Ball#update()} and the reflection in {@link Ball#handlePaddleCollision(double, GameConfig)}
+ * (minus its random jitter), so a whole rally can be planned without stepping frame by frame.
+ */
+final class BallTrajectory {
+
+    // The planner only runs under Enhanced rules, so flights are measured the way Enhanced measures them
+    private static final Ruleset PHYSICS = Ruleset.ENHANCED;
+
+    private BallTrajectory() {}
+
+    /**
+     * A single straight flight: where it starts, how it moves, and the first tick on which it reaches the rim.
+     */
+    static final class Segment {
+        final double startX, startY, velX, velY, speed;
+        final int ticks;            // Ticks until the collision check fires, or -1 if the ball never reaches the rim
+        final double endX, endY;    // Ball position on the colliding tick
+        final double rimAngle;      // atan2 angle of the contact point, as Ball.getAngleFromCenter() would report it
+
+        Segment(double startX, double startY, double velX, double velY, double speed, int ticks, double endX, double endY, double rimAngle) {
+            this.startX = startX;
+            this.startY = startY;
+            this.velX = velX;
+            this.velY = velY;
+            this.speed = speed;
+            this.ticks = ticks;
+            this.endX = endX;
+            this.endY = endY;
+            this.rimAngle = rimAngle;
+        }
+
+        boolean reachesRim() { return ticks > 0; }
+    }
+
+    /**
+     * Solves |p + n*v - c| >= limit for the smallest whole tick n >= 1, i.e. the frame on which the game's
+     * boundary check would trigger. Returns -1 if the ball is not moving.
+     */
+    static int ticksToRim(double x, double y, double velX, double velY, double centerX, double centerY, double limit) {
+        double dx = x - centerX;
+        double dy = y - centerY;
+        double a = velX * velX + velY * velY;
+        if (a == 0) return -1;
+
+        double b = 2 * (dx * velX + dy * velY);
+        double c = dx * dx + dy * dy - limit * limit;
+        double discriminant = b * b - 4 * a * c;
+        if (discriminant < 0) return -1; // Only possible when starting outside the circle and moving away
+
+        double t = (-b + Math.sqrt(discriminant)) / (2 * a);
+        int n = Math.max(1, (int) Math.ceil(t));
+        // Guard against rounding right at the boundary, either way: the game uses >=, so step back if n-1 already
+        // qualifies and on if n doesn't yet
+        if (n > 1 && PHYSICS.length(dx + (n - 1) * velX, dy + (n - 1) * velY) >= limit) n--;
+        else if (PHYSICS.length(dx + n * velX, dy + n * velY) < limit) n++;
+        return n;
+    }
+
+    static Segment flight(double x, double y, double velX, double velY, double speed, double centerX, double centerY, double limit) {
+        int ticks = ticksToRim(x, y, velX, velY, centerX, centerY, limit);
+        if (ticks < 0) {
+            return new Segment(x, y, velX, velY, speed, -1, x, y, Math.atan2(y - centerY, x - centerX));
+        }
+        double endX = x + ticks * velX;
+        double endY = y + ticks * velY;
+        return new Segment(x, y, velX, velY, speed, ticks, endX, endY, Math.atan2(endY - centerY, endX - centerX));
+    }
+
+    /**
+     * Follows an incoming segment through a paddle hit at the given paddle angle and returns the outgoing flight.
+     * Goes through the same {@link #paddleHit} as {@link Ball#handlePaddleCollision(double, GameConfig)}, without
+     * the jitter.
+     */
+    static Segment bounce(Segment incoming, double paddleAngle, double centerX, double centerY, GameConfig config) {
+        double[] state = {incoming.endX, incoming.endY, incoming.velX, incoming.velY, incoming.speed};
+        paddleHit(state, paddleAngle, 0.0, 0.0, centerX, centerY, config, PHYSICS);
+        return flight(state[0], state[1], state[2], state[3], state[4], centerX, centerY,
+                config.getArenaRadius() - config.getBallDiameter() / 2.0);
+    }
+
+    /**
+     * A paddle hit on a ball given as {x, y, velX, velY, speed}, updated in place: reflection about the paddle
+     * normal plus the jitter, the speed ramp, and the pushback off the rim.
+     */
+    static void paddleHit(double[] ball, double paddleAngle, double jitterX, double jitterY,
+                          double centerX, double centerY, GameConfig config, Ruleset ruleset) {
+        double x = ball[0], y = ball[1], velX = ball[2], velY = ball[3];
+        int arenaRadius = config.getArenaRadius();
+        int ballSize = config.getBallDiameter();
+        double normalX = Math.cos(paddleAngle);
+        double normalY = Math.sin(paddleAngle);
+        double dotProduct = velX * normalX + velY * normalY;
+        velX -= 2 * dotProduct * normalX;
+        velY -= 2 * dotProduct * normalY;
+        velX += jitterX;
+        velY += jitterY;
+
+        // Increment speed on hit but cap at maximum. The increment can be tuned below zero, but a ball never slows
+        // below its serve speed, or it would eventually stop and then run backwards.
+        double speed = Math.max(config.getInitialBallSpeed(), Math.min(config.getMaxBallSpeed(), ball[4] + config.getSpeedIncrementOnHit()));
+
+        // Normalize speed. A ball that arrived at rest has no direction left, so it leaves along the paddle normal.
+        double currentSpeed = ruleset.length(velX, velY);
+        if (currentSpeed == 0) {
+            velX = -normalX;
+            velY = -normalY;
+            currentSpeed = 1;
+        }
+        velX = (velX / currentSpeed) * speed;
+        velY = (velY / currentSpeed) * speed;
+
+        double distFromCenter = ruleset.length(x - centerX, y - centerY);
+        // The paddle normal is only the rim normal at the paddle centre. Far along a long paddle the reflection can
+        // still point out of the arena, and the ball would hit the rim again next tick; reflect it off the rim instead.
+        if (ruleset.reflectsOffRim() && distFromCenter > 0) {
+            double radialX = (x - centerX) / distFromCenter;
+            double radialY = (y - centerY) / distFromCenter;
+            double outward = velX * radialX + velY * radialY;
+            if (outward > 0) {
+                velX -= 2 * outward * radialX;
+                velY -= 2 * outward * radialY;
+            }
+        }
+
+        // Push the ball away from the boundary to prevent it getting stuck
+        if (distFromCenter > arenaRadius - ballSize) {
+            x = centerX + (x - centerX) * (arenaRadius - ballSize) / distFromCenter;
+            y = centerY + (y - centerY) * (arenaRadius - ballSize) / distFromCenter;
+        }
+        ball[0] = x;
+        ball[1] = y;
+        ball[2] = velX;
+        ball[3] = velY;
+        ball[4] = speed;
+    }
+
+    /** The same angle in [0, 2π). */
+    static double normalizeAngle(double angle) {
+        while (angle < 0) angle += 2 * Math.PI;
+        while (angle >= 2 * Math.PI) angle -= 2 * Math.PI;
+        return angle;
+    }
+
+    /** Signed shortest difference between two angles, in [-π, π]. */
+    static double angleBetween(double from, double to) {
+        double diff = to - from;
+        while (diff > Math.PI) diff -= 2 * Math.PI;
+        while (diff < -Math.PI) diff += 2 * Math.PI;
+        return diff;
+    }
+}
@@ -0,0 +1,43 @@
+package circlepong.core;
+
+/**
+ * The original CirclePong AI. It steers at a fixed speed toward where a 100-tick look-ahead says the ball will reach
+ * the rim and stops once it is within its reaction threshold; every tick it may misjudge the intercept instead.
+ * Accuracy sets both how often it misjudges and how fast it moves. Here {@link #getResponsiveness()} is the reaction
+ * threshold in radians, so lower values react sooner.
+ */
+class ClassicAiController extends AiController {
+    private static final int PREDICTION_TICKS = 100;
+    private static final double MISJUDGEMENT = 0.5; // Spread of a misjudged intercept, in radians
+
+    ClassicAiController(double reactionThreshold, double accuracy, int centerX, int centerY, int radius, GameRandom random) {
+        super(reactionThreshold, accuracy, centerX, centerY, radius, random);
+    }
+
+    @Override
+    public void updatePaddle(Paddle paddle, Ball ball, GameConfig config) {
+        double predictedAngle = predictBallInterceptAngle(ball);
+        if (predictedAngle == -1) return;
+
+        double angleDifference = BallTrajectory.angleBetween(paddle.getAngle(), predictedAngle);
+        if (random.nextDouble() > getAccuracy()) {
+            angleDifference += (random.nextDouble() - 0.5) * MISJUDGEMENT;
+        }
+        if (Math.abs(angleDifference) > getResponsiveness()) {
+            double moveDirection = angleDifference > 0 ? 1 : -1;
+            double moveSpeed = config.getPaddleSpeed() * (0.5 + 0.5 * getAccuracy()); // Less accurate AIs are slower too
+            paddle.moveBy(moveDirection * moveSpeed);
+        }
+    }
+
+    @Override
+    public double predictBallInterceptAngle(Ball ball) {
+        double angle = super.predictBallInterceptAngle(ball);
+        return angle == -1 ? -1 : BallTrajectory.normalizeAngle(angle);
+    }
+
+    @Override
+    protected int predictionTicks() {
+        return PREDICTION_TICKS;
+    }
+}
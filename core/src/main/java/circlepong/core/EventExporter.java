@@ -0,0 +1,199 @@
+package circlepong.core;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the event stream to disk on its own ring consumer thread, as CSV or as a columnar file.
+ *
+ * The columnar layout is Parquet-like but minimal, little-endian throughout:
+ *   header:     "CPEV", version, column count, then per column its name (length-prefixed UTF-8) and type (I, L or D)
+ *   row groups: row count, then each column's values stored contiguously
+ *   footer:     row group count, each group's file offset, total rows, footer length, "CPEV"
+ *
+ * Usage: java -p $MP -m circlepong.core/circlepong.core.EventExporter events.col   prints a columnar file as CSV
+ */
+class EventExporter implements EventRing.Handler {
+    private static final int MAGIC = 0x43504556; // "CPEV"
+    private static final int VERSION = 1;
+    private static final int ROW_GROUP_SIZE = 4096;
+    private static final String[] COLUMN_NAMES = {"sequence", "tick", "type", "mode", "side", "ball_angle", "paddle_angle", "ball_speed", "rally_length"};
+    private static final char[] COLUMN_TYPES = {'L', 'L', 'I', 'I', 'I', 'D', 'D', 'D', 'I'};
+    private static final String[] TYPE_NAMES = {"hit", "miss", "reset"};
+
+    private final Path file;
+    private final boolean columnar;
+    private BufferedWriter csv;
+    private FileChannel channel;
+    private boolean failed = false;
+
+    // Current row group, one array per column
+    private final long[] sequence = new long[ROW_GROUP_SIZE];
+    private final long[] tick = new long[ROW_GROUP_SIZE];
+    private final int[] type = new int[ROW_GROUP_SIZE];
+    private final int[] mode = new int[ROW_GROUP_SIZE];
+    private final int[] side = new int[ROW_GROUP_SIZE];
+    private final double[] ballAngle = new double[ROW_GROUP_SIZE];
+    private final double[] paddleAngle = new double[ROW_GROUP_SIZE];
+    private final double[] ballSpeed = new double[ROW_GROUP_SIZE];
+    private final int[] rallyLength = new int[ROW_GROUP_SIZE];
+    private int rows = 0;
+    private long totalRows = 0;
+    private final List<Long> rowGroupOffsets = new ArrayList<>();
+    private ByteBuffer groupBuffer;
+
+    /** Exports to the given file: CSV if its name ends in .csv, columnar otherwise. */
+    EventExporter(Path file) throws IOException {
+        this.file = file;
+        this.columnar = !file.getFileName().toString().toLowerCase().endsWith(".csv");
+        if (columnar) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeFully(columnarHeader());
+            groupBuffer = ByteBuffer.allocate(4 + ROW_GROUP_SIZE * 8 * COLUMN_NAMES.length).order(ByteOrder.LITTLE_ENDIAN);
+        } else {
+            csv = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            csv.write(String.join(",", COLUMN_NAMES));
+            csv.newLine();
+        }
+    }
+
+    @Override
+    public void onEvent(EventRing ring, int slot, long seq, boolean endOfBatch) {
+        if (failed) return;
+        try {
+            if (columnar) {
+                sequence[rows] = seq;
+                tick[rows] = ring.tick[slot];
+                type[rows] = ring.type[slot];
+                mode[rows] = ring.mode[slot];
+                side[rows] = ring.side[slot];
+                ballAngle[rows] = ring.ballAngle[slot];
+                paddleAngle[rows] = ring.paddleAngle[slot];
+                ballSpeed[rows] = ring.ballSpeed[slot];
+                rallyLength[rows] = ring.rallyLength[slot];
+                if (++rows == ROW_GROUP_SIZE) flushRowGroup();
+            } else {
+                csv.write(seq + "," + ring.tick[slot] + "," + TYPE_NAMES[ring.type[slot]] + "," + GameMode.values()[ring.mode[slot]]
+                        + "," + ring.side[slot] + "," + ring.ballAngle[slot] + "," + ring.paddleAngle[slot]
+                        + "," + ring.ballSpeed[slot] + "," + ring.rallyLength[slot]);
+                csv.newLine();
+                if (endOfBatch) csv.flush(); // Keep the file current while the game runs
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Override
+    public void onShutdown() {
+        try {
+            if (columnar) {
+                if (!failed) {
+                    if (rows > 0) flushRowGroup();
+                    writeFully(columnarFooter());
+                }
+                channel.close();
+            } else {
+                csv.close();
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        if (!failed) System.err.println("Event export to " + file + " stopped: " + e.getMessage());
+        failed = true;
+    }
+
+    private void flushRowGroup() throws IOException {
+        rowGroupOffsets.add(channel.position());
+        ByteBuffer buffer = groupBuffer;
+        buffer.clear();
+        buffer.putInt(rows);
+        for (int i = 0; i < rows; i++) buffer.putLong(sequence[i]);
+        for (int i = 0; i < rows; i++) buffer.putLong(tick[i]);
+        for (int i = 0; i < rows; i++) buffer.putInt(type[i]);
+        for (int i = 0; i < rows; i++) buffer.putInt(mode[i]);
+        for (int i = 0; i < rows; i++) buffer.putInt(side[i]);
+        for (int i = 0; i < rows; i++) buffer.putDouble(ballAngle[i]);
+        for (int i = 0; i < rows; i++) buffer.putDouble(paddleAngle[i]);
+        for (int i = 0; i < rows; i++) buffer.putDouble(ballSpeed[i]);
+        for (int i = 0; i < rows; i++) buffer.putInt(rallyLength[i]);
+        buffer.flip();
+        writeFully(buffer);
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private static ByteBuffer columnarHeader() {
+        ByteBuffer header = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(COLUMN_NAMES.length);
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            byte[] name = COLUMN_NAMES[i].getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) name.length).put(name).put((byte) COLUMN_TYPES[i]);
+        }
+        header.flip();
+        return header;
+    }
+
+    private ByteBuffer columnarFooter() {
+        ByteBuffer footer = ByteBuffer.allocate(4 + rowGroupOffsets.size() * 8 + 8 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        footer.putInt(rowGroupOffsets.size());
+        for (long offset : rowGroupOffsets) footer.putLong(offset);
+        footer.putLong(totalRows);
+        footer.putInt(footer.capacity()); // Footer length including itself and the trailing magic
+        footer.putInt(MAGIC);
+        footer.flip();
+        return footer;
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    /** Prints a columnar export as CSV, reading it through its footer the way an offline tool would. */
+    static void printColumnarAsCsv(Path file, PrintStream out) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int end = data.limit();
+        if (end < 16 || data.getInt(0) != MAGIC || data.getInt(end - 4) != MAGIC) throw new IOException("Not a complete event file");
+        if (data.getInt(4) != VERSION) throw new IOException("Unsupported event file version " + data.getInt(4));
+        int footerStart = end - data.getInt(end - 8);
+        int groupCount = data.getInt(footerStart);
+
+        out.println(String.join(",", COLUMN_NAMES));
+        for (int g = 0; g < groupCount; g++) {
+            int position = (int) data.getLong(footerStart + 4 + g * 8);
+            int count = data.getInt(position);
+            int base = position + 4;
+            // Column offsets within the group follow from the fixed widths
+            int tickAt = base + count * 8, typeAt = tickAt + count * 8, modeAt = typeAt + count * 4, sideAt = modeAt + count * 4;
+            int ballAt = sideAt + count * 4, paddleAt = ballAt + count * 8, speedAt = paddleAt + count * 8, rallyAt = speedAt + count * 8;
+            for (int i = 0; i < count; i++) {
+                out.println(data.getLong(base + i * 8) + "," + data.getLong(tickAt + i * 8) + "," + TYPE_NAMES[data.getInt(typeAt + i * 4)]
+                        + "," + GameMode.values()[data.getInt(modeAt + i * 4)] + "," + data.getInt(sideAt + i * 4)
+                        + "," + data.getDouble(ballAt + i * 8) + "," + data.getDouble(paddleAt + i * 8)
+                        + "," + data.getDouble(speedAt + i * 8) + "," + data.getInt(rallyAt + i * 4));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: java -p <module path> -m circlepong.core/circlepong.core.EventExporter <events file>");
+            System.exit(2);
+        }
+        printColumnarAsCsv(Paths.get(args[0]), System.out);
+    }
+}
@@ -0,0 +1,166 @@
+package circlepong.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single-producer ring of game events in the style of the LMAX Disruptor: slots are preallocated primitive
+ * columns, the game thread claims and publishes sequence numbers, and each consumer follows on its own thread
+ * with its own sequence. The producer never waits: if the slowest consumer is a whole ring behind, the event is
+ * dropped and counted instead of stalling the tick.
+ */
+final class EventRing {
+    static final int HIT = 0, MISS = 1, RESET = 2;
+    static final int SIDE_NONE = 0, SIDE_LEFT = 1, SIDE_RIGHT = 2;
+
+    /** Consumes events in sequence order. {@code endOfBatch} marks the last event currently available. */
+    interface Handler {
+        void onEvent(EventRing ring, int slot, long sequence, boolean endOfBatch);
+
+        /** Called once after the ring is closed and every published event has been handled. */
+        default void onShutdown() {}
+    }
+
+    // Event columns, indexed by slot; written by the producer before the sequence is published
+    final int[] type;
+    final int[] side;
+    final int[] mode;
+    final long[] tick;
+    final double[] ballAngle;    // Angle of the ball from the arena centre at the event
+    final double[] paddleAngle;  // Paddle that hit, or the one that should have (NaN for resets)
+    final double[] ballSpeed;
+    final int[] rallyLength;     // Hits so far in this rally, including this one
+
+    private final int mask;
+    private final Sequence cursor = new Sequence(-1);  // Highest published sequence
+    private long nextSequence = 0;                      // Producer-only
+    private long cachedGatingSequence = -1;             // Producer-only: slowest consumer when last checked
+    private final List<Sequence> consumerSequences = new ArrayList<>();
+    private final List<Thread> consumerThreads = new ArrayList<>();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private volatile boolean running = true;
+
+    EventRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        mask = capacity - 1;
+        type = new int[capacity];
+        side = new int[capacity];
+        mode = new int[capacity];
+        tick = new long[capacity];
+        ballAngle = new double[capacity];
+        paddleAngle = new double[capacity];
+        ballSpeed = new double[capacity];
+        rallyLength = new int[capacity];
+    }
+
+    /** Registers a consumer with its own thread. All consumers must be added before the first event. */
+    void addConsumer(String name, Handler handler) {
+        Sequence sequence = new Sequence(cursor.get());
+        consumerSequences.add(sequence);
+        Thread thread = new Thread(() -> consume(handler, sequence), name);
+        thread.setDaemon(true);
+        consumerThreads.add(thread);
+        thread.start();
+    }
+
+    /** Claims the next slot, or returns -1 (and counts a drop) if a consumer hasn't freed it yet. Producer only. */
+    long tryClaim() {
+        long sequence = nextSequence;
+        long wrapPoint = sequence - (mask + 1);
+        if (wrapPoint > cachedGatingSequence) {
+            cachedGatingSequence = minimumConsumerSequence();
+            if (wrapPoint > cachedGatingSequence) {
+                droppedEvents.incrementAndGet();
+                return -1;
+            }
+        }
+        nextSequence = sequence + 1;
+        return sequence;
+    }
+
+    int slot(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /** Makes a claimed slot visible to consumers. Producer only, in claim order. */
+    void publish(long sequence) {
+        cursor.setRelease(sequence);
+    }
+
+    long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    /** Stops the consumers once they have drained everything published so far, and waits for them. */
+    void close() {
+        running = false;
+        for (Thread thread : consumerThreads) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long minimumConsumerSequence() {
+        long minimum = cursor.get();
+        for (Sequence sequence : consumerSequences) minimum = Math.min(minimum, sequence.get());
+        return minimum;
+    }
+
+    private void consume(Handler handler, Sequence sequence) {
+        long next = sequence.get() + 1;
+        while (true) {
+            long available = cursor.getAcquire();
+            if (available >= next) {
+                for (long s = next; s <= available; s++) {
+                    handler.onEvent(this, slot(s), s, s == available);
+                }
+                sequence.setRelease(available);
+                next = available + 1;
+            } else if (!running) {
+                // Anything published before close() is visible now that running reads false, but may have landed
+                // after the cursor read above: look once more, and only stop when that finds nothing either
+                if (cursor.getAcquire() < next) break;
+            } else {
+                // Events arrive a few times a second at most; parking beats spinning a core for them
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+        handler.onShutdown();
+    }
+
+    // Padding lives in superclasses because the JVM may reorder fields within a class but not across the hierarchy
+    @SuppressWarnings("unused")
+    static class LeftPadding { private long p1, p2, p3, p4, p5, p6, p7; }
+    static class SequenceValue extends LeftPadding { volatile long value; }
+    @SuppressWarnings("unused")
+    static class RightPadding extends SequenceValue { private long q1, q2, q3, q4, q5, q6, q7; }
+
+    /** A sequence counter padded onto its own cache line so producer and consumers don't false-share. */
+    static final class Sequence extends RightPadding {
+        private static final VarHandle VALUE;
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        Sequence(long initial) {
+            value = initial;
+        }
+
+        long get() { return value; }
+        long getAcquire() { return (long) VALUE.getAcquire(this); }
+        void setRelease(long newValue) { VALUE.setRelease(this, newValue); }
+    }
+}
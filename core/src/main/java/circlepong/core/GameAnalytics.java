@@ -0,0 +1,121 @@
+package circlepong.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Hit, miss and reset events for one simulation, published through an {@link EventRing} so the tick only pays for a
+ * few array stores. Consumer threads keep rolling histograms of where and how fast misses happen and how long
+ * rallies last, and optionally export every event to disk.
+ */
+public final class GameAnalytics implements GameSimulation.Listener {
+    private static final int RING_CAPACITY = 4096;
+    private static final int HISTOGRAM_WINDOW = 1000; // Events each histogram remembers
+
+    private final GameSimulation simulation;
+    private final EventRing ring = new EventRing(RING_CAPACITY);
+    private int rallyHits = 0; // Game thread only
+
+    // Aggregated on the "analytics-histograms" consumer thread
+    private final RollingHistogram missOffsets = new RollingHistogram("Miss offset from paddle (deg)", -180, 180, 36, HISTOGRAM_WINDOW);
+    private final RollingHistogram missSpeeds = new RollingHistogram("Ball speed at miss", 0, 10, 20, HISTOGRAM_WINDOW);
+    private final RollingHistogram rallyLengths = new RollingHistogram("Rally length (hits)", 0, 100, 50, HISTOGRAM_WINDOW);
+
+    private GameAnalytics(GameSimulation simulation) {
+        this.simulation = simulation;
+    }
+
+    /**
+     * Starts analytics for the simulation, exporting every event to {@code exportFile} if it isn't null.
+     * Events must be produced on one thread, the one that ticks the simulation.
+     */
+    public static GameAnalytics attach(GameSimulation simulation, Path exportFile) throws IOException {
+        GameAnalytics analytics = new GameAnalytics(simulation);
+        analytics.ring.addConsumer("analytics-histograms", analytics::aggregate);
+        if (exportFile != null) {
+            analytics.ring.addConsumer("analytics-export", new EventExporter(exportFile));
+        }
+        simulation.addListener(analytics);
+        return analytics;
+    }
+
+    @Override
+    public void onPaddleHit(Paddle paddle, double x, double y) {
+        rallyHits++;
+        int side = paddle == simulation.getLeftPaddle() ? EventRing.SIDE_LEFT : EventRing.SIDE_RIGHT;
+        publish(EventRing.HIT, side, x, y, paddle.getAngle());
+    }
+
+    @Override
+    public void onMiss(double x, double y) {
+        // The paddle that should have made the save, by the same rule the collision check uses
+        Paddle paddle = x < GameSimulation.WORLD_SIZE / 2.0 && simulation.getLeftPaddle() != null
+                ? simulation.getLeftPaddle() : simulation.getRightPaddle();
+        int side = paddle == simulation.getLeftPaddle() ? EventRing.SIDE_LEFT : EventRing.SIDE_RIGHT;
+        publish(EventRing.MISS, side, x, y, paddle.getAngle());
+        rallyHits = 0;
+    }
+
+    @Override
+    public void onReset() {
+        publish(EventRing.RESET, EventRing.SIDE_NONE, Double.NaN, Double.NaN, Double.NaN);
+        rallyHits = 0;
+    }
+
+    private void publish(int type, int side, double x, double y, double paddleAngle) {
+        long sequence = ring.tryClaim();
+        if (sequence < 0) return; // Consumers are a full ring behind; the drop is counted
+        int slot = ring.slot(sequence);
+        double center = GameSimulation.WORLD_SIZE / 2.0;
+        ring.type[slot] = type;
+        ring.side[slot] = side;
+        ring.mode[slot] = simulation.getMode().ordinal();
+        ring.tick[slot] = simulation.getTickCount();
+        ring.ballAngle[slot] = Math.atan2(y - center, x - center);
+        ring.paddleAngle[slot] = paddleAngle;
+        ring.ballSpeed[slot] = simulation.getBall().getSpeed();
+        ring.rallyLength[slot] = rallyHits;
+        ring.publish(sequence);
+    }
+
+    private void aggregate(EventRing events, int slot, long sequence, boolean endOfBatch) {
+        if (events.type[slot] != EventRing.MISS) return;
+        missOffsets.add(Math.toDegrees(BallTrajectory.angleBetween(events.paddleAngle[slot], events.ballAngle[slot])));
+        missSpeeds.add(events.ballSpeed[slot]);
+        rallyLengths.add(events.rallyLength[slot]);
+    }
+
+    RollingHistogram getMissOffsets() { return missOffsets; }
+    RollingHistogram getMissSpeeds() { return missSpeeds; }
+    RollingHistogram getRallyLengths() { return rallyLengths; }
+
+    /** One line for the stats overlay. */
+    public String summary() {
+        if (rallyLengths.getSize() == 0) return String.format("Analytics: no misses yet, %d events dropped", ring.getDroppedEvents());
+        return String.format("Analytics: %d misses (last %d), offset mode %+.0f deg, speed p50 %.1f, rally p50 %.0f / p90 %.0f, %d dropped",
+                rallyLengths.getTotal(), rallyLengths.getSize(), missOffsets.mode(), missSpeeds.percentile(0.5),
+                rallyLengths.percentile(0.5), rallyLengths.percentile(0.9), ring.getDroppedEvents());
+    }
+
+    /** Full histograms, printed on exit. */
+    public String report() {
+        StringBuilder report = new StringBuilder(summary()).append('\n');
+        for (RollingHistogram histogram : new RollingHistogram[]{missOffsets, missSpeeds, rallyLengths}) {
+            report.append(histogram.getName()).append(":\n");
+            long[] bins = histogram.getBins();
+            long peak = 1;
+            for (long count : bins) peak = Math.max(peak, count);
+            for (int i = 0; i < bins.length; i++) {
+                if (bins[i] == 0) continue;
+                report.append(String.format("  %8.1f .. %8.1f  %6d  %s%n", histogram.binStart(i), histogram.binStart(i + 1),
+                        bins[i], "#".repeat((int) (40 * bins[i] / peak))));
+            }
+        }
+        return report.toString();
+    }
+
+    /** Drains every published event to the consumers, then stops them and closes any export. */
+    public void close() {
+        ring.close();
+    }
+}
@@ -0,0 +1,145 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+import java.util.Properties;
+
+/**
+ * An immutable snapshot of every tunable game setting.
+ * The simulation picks up one snapshot per tick, so a change is never seen half-applied.
+ */
+public final class GameConfig {
+    public static final GameConfig DEFAULTS = new GameConfig(300, 70, 15, 15, 0.045, 4.0, 0.2, 8.0, false);
+    /** The original CirclePong: smaller paddles and a ball that never speeds up. */
+    static final GameConfig CLASSIC = new GameConfig(300, 60, 10, 12, 0.05, 3.0, 0.0, 3.0, false);
+
+    // Layout: changing any of these rebuilds the arena
+    private final int arenaRadius;
+    private final int paddleLength;
+    private final int paddleWidth;
+    private final int ballDiameter;
+    private final double paddleSpeed;
+
+    // Physics and display: applied on the next tick
+    private final double initialBallSpeed;
+    private final double speedIncrementOnHit;
+    private final double maxBallSpeed;
+    private final boolean showGhostBall;
+
+    GameConfig(int arenaRadius, int paddleLength, int paddleWidth, int ballDiameter, double paddleSpeed,
+               double initialBallSpeed, double speedIncrementOnHit, double maxBallSpeed, boolean showGhostBall) {
+        this.arenaRadius = arenaRadius;
+        this.paddleLength = paddleLength;
+        this.paddleWidth = paddleWidth;
+        this.ballDiameter = ballDiameter;
+        this.paddleSpeed = paddleSpeed;
+        this.initialBallSpeed = initialBallSpeed;
+        this.speedIncrementOnHit = speedIncrementOnHit;
+        this.maxBallSpeed = maxBallSpeed;
+        this.showGhostBall = showGhostBall;
+    }
+
+    /**
+     * Reads settings from properties, falling back to the given defaults for missing keys.
+     * Throws IllegalArgumentException if a value is malformed or out of range.
+     */
+    static GameConfig fromProperties(Properties props, GameConfig defaults) {
+        GameConfig config = new GameConfig(
+                readInt(props, "arena.radius", defaults.arenaRadius),
+                readInt(props, "paddle.length", defaults.paddleLength),
+                readInt(props, "paddle.width", defaults.paddleWidth),
+                readInt(props, "ball.diameter", defaults.ballDiameter),
+                readDouble(props, "paddle.speed", defaults.paddleSpeed),
+                readDouble(props, "ball.initialSpeed", defaults.initialBallSpeed),
+                readDouble(props, "ball.speedIncrementOnHit", defaults.speedIncrementOnHit),
+                readDouble(props, "ball.maxSpeed", defaults.maxBallSpeed),
+                Boolean.parseBoolean(props.getProperty("debug.showGhostBall", String.valueOf(defaults.showGhostBall)).trim()));
+        config.validate();
+        return config;
+    }
+
+    private void validate() {
+        validateLayout();
+        if (initialBallSpeed <= 0) throw new IllegalArgumentException("ball.initialSpeed must be positive");
+        if (maxBallSpeed < initialBallSpeed) throw new IllegalArgumentException("ball.maxSpeed must be at least ball.initialSpeed");
+    }
+
+    /** Checks the arena keys alone, which also hold for snapshots taken after the speeds were retuned. */
+    void validateLayout() {
+        // The rim has to fit in the fixed world every front-end draws
+        if (arenaRadius <= 0 || arenaRadius >= GameSimulation.WORLD_SIZE / 2) {
+            throw new IllegalArgumentException("arena.radius must be between 0 and " + GameSimulation.WORLD_SIZE / 2);
+        }
+        if (paddleLength <= 0 || paddleWidth <= 0) throw new IllegalArgumentException("paddle.length and paddle.width must be positive");
+        if (ballDiameter <= 0 || ballDiameter >= arenaRadius) throw new IllegalArgumentException("ball.diameter must be between 0 and arena.radius");
+        if (paddleSpeed <= 0) throw new IllegalArgumentException("paddle.speed must be positive");
+    }
+
+    private static int readInt(Properties props, String key, int fallback) {
+        String value = props.getProperty(key);
+        if (value == null) return fallback;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a whole number: " + value, e);
+        }
+    }
+
+    private static double readDouble(Properties props, String key, double fallback) {
+        String value = props.getProperty(key);
+        if (value == null) return fallback;
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (!Double.isFinite(parsed)) throw new NumberFormatException("not finite");
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a number: " + value, e);
+        }
+    }
+
+    /** Every setting in a fixed 52-byte layout, for game snapshots. */
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(arenaRadius).putInt(paddleLength).putInt(paddleWidth).putInt(ballDiameter)
+                .putDouble(paddleSpeed).putDouble(initialBallSpeed).putDouble(speedIncrementOnHit).putDouble(maxBallSpeed)
+                .putInt(showGhostBall ? 1 : 0);
+    }
+
+    static GameConfig readFrom(ByteBuffer buffer) {
+        return new GameConfig(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getDouble(), buffer.getInt() != 0);
+    }
+
+    /** Whether the arena built for the other snapshot can keep running under this one. */
+    boolean hasSameLayout(GameConfig other) {
+        return other != null
+                && arenaRadius == other.arenaRadius
+                && paddleLength == other.paddleLength
+                && paddleWidth == other.paddleWidth
+                && ballDiameter == other.ballDiameter
+                && paddleSpeed == other.paddleSpeed;
+    }
+
+    public GameConfig withMaxBallSpeed(double maxBallSpeed) {
+        return new GameConfig(arenaRadius, paddleLength, paddleWidth, ballDiameter, paddleSpeed,
+                initialBallSpeed, speedIncrementOnHit, maxBallSpeed, showGhostBall);
+    }
+
+    public GameConfig withSpeedIncrementOnHit(double speedIncrementOnHit) {
+        return new GameConfig(arenaRadius, paddleLength, paddleWidth, ballDiameter, paddleSpeed,
+                initialBallSpeed, speedIncrementOnHit, maxBallSpeed, showGhostBall);
+    }
+
+    public GameConfig withShowGhostBall(boolean showGhostBall) {
+        return new GameConfig(arenaRadius, paddleLength, paddleWidth, ballDiameter, paddleSpeed,
+                initialBallSpeed, speedIncrementOnHit, maxBallSpeed, showGhostBall);
+    }
+
+    public int getArenaRadius() { return arenaRadius; }
+    public int getPaddleLength() { return paddleLength; }
+    public int getPaddleWidth() { return paddleWidth; }
+    public int getBallDiameter() { return ballDiameter; }
+    public double getPaddleSpeed() { return paddleSpeed; }
+    public double getInitialBallSpeed() { return initialBallSpeed; }
+    public double getSpeedIncrementOnHit() { return speedIncrementOnHit; }
+    public double getMaxBallSpeed() { return maxBallSpeed; }
+    public boolean isShowGhostBall() { return showGhostBall; }
+}
@@ -0,0 +1,102 @@
+package circlepong.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Publishes the current {@link GameConfig} and reloads it when the backing properties file changes.
+ * Readers on any thread get a consistent snapshot; in-game tweaks and file reloads replace it atomically.
+ */
+public final class GameConfigSource {
+    private final AtomicReference<GameConfig> current;
+    private final Path file;
+
+    private GameConfigSource(Path file, GameConfig initial) {
+        this.file = file;
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /** Loads the file if it exists, otherwise starts from the defaults and waits for it to appear. */
+    public static GameConfigSource load(Path file) {
+        GameConfig initial = GameConfig.DEFAULTS;
+        if (Files.exists(file)) {
+            try {
+                initial = read(file);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Could not load " + file + ", using defaults: " + e.getMessage());
+            }
+        }
+        return new GameConfigSource(file, initial);
+    }
+
+    /** A fixed configuration that is never reloaded. */
+    static GameConfigSource of(GameConfig config) {
+        return new GameConfigSource(null, config);
+    }
+
+    public GameConfig current() {
+        return current.get();
+    }
+
+    public GameConfig update(UnaryOperator<GameConfig> change) {
+        return current.updateAndGet(change);
+    }
+
+    /**
+     * Starts a daemon thread that reloads the file whenever it is created or modified.
+     * A file that fails to parse is reported and the previous snapshot stays in effect.
+     */
+    public void startWatching() {
+        if (file == null) return;
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) return;
+
+        Thread watcher = new Thread(() -> watch(directory), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch(Path directory) {
+        try (WatchService watchService = directory.getFileSystem().newWatchService()) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            Path fileName = file.getFileName();
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) changed = true;
+                }
+                key.reset();
+                if (changed) reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Config watching stopped: " + e.getMessage());
+        }
+    }
+
+    private void reload() {
+        try {
+            GameConfig reloaded = read(file);
+            current.set(reloaded);
+            System.out.println("Reloaded " + file);
+        } catch (NoSuchFileException e) {
+            // Editors that save by rename briefly remove the file; the create event will follow
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ignoring invalid " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static GameConfig read(Path file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        return GameConfig.fromProperties(props, GameConfig.DEFAULTS);
+    }
+}
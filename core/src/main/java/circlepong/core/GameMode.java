@@ -0,0 +1,25 @@
+package circlepong.core;
+
+/**
+ * Enum for managing the different game modes and their properties.
+ */
+public enum GameMode {
+    HUMAN_VS_AI("Human vs AI", "Human", "AI"),
+    TWO_HUMAN("Two Human", "Player 1", "Player 2"),
+    TWO_AI("Two AI", "AI 1", "AI 2"),
+    AI_SOLO("AI Solo", "AI", "AI"); // Player names aren't really used for Solo mode UI
+
+    private final String displayName, leftPlayerName, rightPlayerName;
+
+    GameMode(String displayName, String leftPlayerName, String rightPlayerName) {
+        this.displayName = displayName;
+        this.leftPlayerName = leftPlayerName;
+        this.rightPlayerName = rightPlayerName;
+    }
+
+    public String getDisplayName() { return displayName; }
+    public String getLeftPlayerName() { return leftPlayerName; }
+    public String getRightPlayerName() { return rightPlayerName; }
+    /** Whether someone at the keyboard steers a paddle, as opposed to a match the AI plays alone. */
+    public boolean hasHumanPlayer() { return this == HUMAN_VS_AI || this == TWO_HUMAN; }
+}
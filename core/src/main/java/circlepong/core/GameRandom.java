@@ -0,0 +1,47 @@
+package circlepong.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The simulation's random source: SplitMix64, whose entire state is one long. That makes it cheap to save with a
+ * snapshot, restore exactly, and reseed a fork so it plays out differently from the original.
+ * Not thread-safe; each simulation owns one and only its ticking thread uses it.
+ */
+public final class GameRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final AtomicLong SEED_UNIQUIFIER = new AtomicLong(System.nanoTime());
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /** Seeded differently on every call, like {@code new Random()}. */
+    public GameRandom() {
+        this(mix(SEED_UNIQUIFIER.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime()));
+    }
+
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /** Uniform in [0, 1). */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
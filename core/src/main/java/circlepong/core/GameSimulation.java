@@ -0,0 +1,385 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One match without a window: ball, paddles, AI and scoring, advanced one tick at a time under either game's
+ * {@link Ruleset}. Both Swing front-ends drive one of these; the server's {@code MatchHost} drives thousands of
+ * them headlessly.
+ */
+public class GameSimulation {
+    public static final int WORLD_SIZE = 800; // Game logic runs in a fixed square world
+
+    // Snapshot layout, little-endian: header, RNG, config, ball, paddle angles, then both AIs
+    private static final int SNAPSHOT_MAGIC = 0x53535043; // "CPSS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int AI_STATE_SIZE = 28;
+    public static final int SNAPSHOT_SIZE = 4 + 4 + 4 + 4 + 8 + 4 + 4  // magic, version, mode, flags, tick, scores
+            + 8                                               // RNG state
+            + 52                                              // config
+            + 40                                              // ball
+            + 8 + 8                                           // paddle angles, NaN if absent
+            + 1 + AI_STATE_SIZE + 1 + AI_STATE_SIZE;          // AIs, each behind a presence byte
+    private static final int FLAG_PLANNING_AI = 1;
+    private static final int FLAG_CLASSIC_RULES = 2;
+
+    /** Things a front end may want to show or count. Every callback defaults to doing nothing. */
+    public interface Listener {
+        default void onPaddleHit(Paddle paddle, double x, double y) {}
+        default void onMiss(double x, double y) {}
+        default void onReset() {}
+    }
+
+    private static final int CENTER = WORLD_SIZE / 2; // Arena centre on both axes
+    private GameConfig layout; // The snapshot the current arena was built from
+    private GameConfig config; // The snapshot last played under, tuning included: what a save keeps
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>(); // May be added while the game runs
+    private long tickCount = 0;
+
+    private Ball ball;
+    private Paddle leftPaddle;
+    private Paddle rightPaddle;
+    private AiController leftAi;
+    private AiController rightAi;
+
+    private int leftPlayerScore = 0;
+    private int rightPlayerScore = 0;
+    private GameMode mode;
+    private Ruleset ruleset;
+    private boolean usePlanningAi;
+    private final GameRandom random; // Everything random in the match draws from here, so a snapshot captures it
+
+    public GameSimulation(GameMode mode, GameConfig config, boolean usePlanningAi) {
+        this(mode, config, usePlanningAi, new GameRandom());
+    }
+
+    public GameSimulation(GameMode mode, GameConfig config, boolean usePlanningAi, GameRandom random) {
+        this(Ruleset.ENHANCED, mode, config, usePlanningAi, random);
+    }
+
+    public GameSimulation(Ruleset ruleset, GameMode mode, GameConfig config, boolean usePlanningAi, GameRandom random) {
+        this.ruleset = ruleset;
+        this.mode = mode;
+        this.usePlanningAi = usePlanningAi;
+        this.random = random;
+        initializeGameComponents(config);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Advances one tick. The directions come from human players and are ignored for paddles the current mode gives
+     * to the AI: +1 or -1 moves a paddle a full step, and anything in between is the net fraction of the tick a key
+     * was held, for front-ends that sample input below tick resolution.
+     */
+    public void tick(GameConfig config, double leftDirection, double rightDirection) {
+        tick(config, leftDirection, rightDirection, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Advances one tick with absolute input as well, e.g. from an analog dial: a human paddle with a target angle
+     * steers the short way towards it at paddle speed instead of following its direction. NaN means no target.
+     */
+    public void tick(GameConfig config, double leftDirection, double rightDirection, double leftTarget, double rightTarget) {
+        if (!config.hasSameLayout(layout)) {
+            // Geometry was retuned: rebuild the arena around the new snapshot
+            initializeGameComponents(config);
+        }
+        this.config = config;
+        handlePlayerInput(leftDirection, rightDirection, leftTarget, rightTarget);
+        updateAi(config);
+        ball.update();
+        handleCollisions(config);
+        tickCount++;
+    }
+
+    public void reset(GameConfig config) {
+        leftPlayerScore = 0;
+        rightPlayerScore = 0;
+        // Re-initializing ensures the correct setup for the current mode
+        initializeGameComponents(config);
+        for (Listener listener : listeners) listener.onReset();
+    }
+
+    public void setMode(GameMode mode, GameConfig config) {
+        this.mode = mode;
+        reset(config);
+    }
+
+    public void setPlanningAi(boolean usePlanningAi) {
+        this.usePlanningAi = usePlanningAi;
+        // Swap the controllers in place so difficulty settings and the current rally survive
+        if (leftAi != null) {
+            leftAi = createAi(leftAi.getResponsiveness(), leftAi.getAccuracy(), rightPaddle);
+        }
+        if (rightAi != null) {
+            rightAi = createAi(rightAi.getResponsiveness(), rightAi.getAccuracy(), leftPaddle);
+        }
+    }
+
+    /**
+     * Writes the whole match in {@link #SNAPSHOT_SIZE} bytes at the buffer's position. Listeners aren't included.
+     * The config saved is the last tick's, so tuning made since the arena was built comes back with the match.
+     */
+    public void writeSnapshot(ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int flags = (usePlanningAi ? FLAG_PLANNING_AI : 0) | (ruleset == Ruleset.CLASSIC ? FLAG_CLASSIC_RULES : 0);
+        buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(mode.ordinal()).putInt(flags)
+                .putLong(tickCount).putInt(leftPlayerScore).putInt(rightPlayerScore);
+        buffer.putLong(random.getState());
+        config.writeTo(buffer);
+        ball.writeState(buffer);
+        writePaddleState(buffer, leftPaddle);
+        writePaddleState(buffer, rightPaddle);
+        writeAiState(buffer, leftAi);
+        writeAiState(buffer, rightAi);
+        buffer.order(order);
+    }
+
+    /**
+     * Replaces the match with one written by {@link #writeSnapshot}. Listeners see a reset, since scores and the
+     * rally jump. A planning AI starts without its cached plan and rebuilds one on its next tick.
+     */
+    public void restoreSnapshot(ByteBuffer buffer) {
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.remaining() < SNAPSHOT_SIZE) throw new IllegalArgumentException("Truncated snapshot");
+            if (buffer.getInt() != SNAPSHOT_MAGIC) throw new IllegalArgumentException("Not a game snapshot");
+            int version = buffer.getInt();
+            if (version != SNAPSHOT_VERSION) throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            // Check the whole header before touching the match, so a corrupt snapshot leaves it as it was
+            int savedMode = buffer.getInt();
+            if (savedMode < 0 || savedMode >= GameMode.values().length) throw new IllegalArgumentException("Unknown game mode " + savedMode);
+            int flags = buffer.getInt();
+            if ((flags & ~(FLAG_PLANNING_AI | FLAG_CLASSIC_RULES)) != 0) throw new IllegalArgumentException("Unknown snapshot flags " + flags);
+            long savedTick = buffer.getLong();
+            int savedLeftScore = buffer.getInt();
+            int savedRightScore = buffer.getInt();
+            if (savedTick < 0 || savedLeftScore < 0 || savedRightScore < 0) throw new IllegalArgumentException("Bad tick or scores");
+            long randomState = buffer.getLong();
+            GameConfig config = GameConfig.readFrom(buffer);
+            config.validateLayout();
+
+            mode = GameMode.values()[savedMode];
+            usePlanningAi = (flags & FLAG_PLANNING_AI) != 0;
+            ruleset = (flags & FLAG_CLASSIC_RULES) != 0 ? Ruleset.CLASSIC : Ruleset.ENHANCED;
+            tickCount = savedTick;
+            leftPlayerScore = savedLeftScore;
+            rightPlayerScore = savedRightScore;
+
+            // Build the components for the saved mode and layout, then overwrite their state
+            initializeGameComponents(config);
+            ball.readState(buffer);
+            readPaddleState(buffer, leftPaddle);
+            readPaddleState(buffer, rightPaddle);
+            readAiState(buffer, leftAi);
+            readAiState(buffer, rightAi);
+            random.setState(randomState); // Last, so building the components above can't disturb it
+        } finally {
+            buffer.order(order);
+        }
+        for (Listener listener : listeners) listener.onReset();
+    }
+
+    /** A new simulation in exactly this state with no listeners, to play out a what-if on another thread. */
+    public GameSimulation fork() {
+        ByteBuffer snapshot = ByteBuffer.allocate(SNAPSHOT_SIZE);
+        writeSnapshot(snapshot);
+        snapshot.flip();
+        GameSimulation copy = new GameSimulation(ruleset, mode, config, usePlanningAi, new GameRandom(0));
+        copy.restoreSnapshot(snapshot);
+        return copy;
+    }
+
+    private static void writePaddleState(ByteBuffer buffer, Paddle paddle) {
+        if (paddle == null) {
+            buffer.putDouble(Double.NaN);
+        } else {
+            paddle.writeState(buffer);
+        }
+    }
+
+    private static void readPaddleState(ByteBuffer buffer, Paddle paddle) {
+        if (paddle == null) {
+            buffer.getDouble();
+        } else {
+            paddle.readState(buffer);
+        }
+    }
+
+    private static void writeAiState(ByteBuffer buffer, AiController ai) {
+        if (ai == null) {
+            buffer.put((byte) 0);
+            buffer.position(buffer.position() + AI_STATE_SIZE); // Keep the layout fixed
+        } else {
+            buffer.put((byte) 1);
+            ai.writeState(buffer);
+        }
+    }
+
+    private static void readAiState(ByteBuffer buffer, AiController ai) {
+        boolean present = buffer.get() != 0;
+        if (present && ai != null) {
+            ai.readState(buffer);
+        } else {
+            buffer.position(buffer.position() + AI_STATE_SIZE);
+        }
+    }
+
+    private void initializeGameComponents(GameConfig config) {
+        layout = config;
+        this.config = config;
+        ball = new Ball(CENTER, CENTER, config, ruleset, random);
+
+        if (mode == GameMode.AI_SOLO) {
+            // Solo mode: one paddle, one AI, full 360 movement
+            rightPaddle = new Paddle(CENTER, CENTER, config.getArenaRadius(), config.getPaddleLength(), config.getPaddleWidth(), config.getPaddleSpeed(), 0, 0); // PlayerID 0 for full movement
+            rightAi = createAi(0.12, 0.95, null); // A responsive AI for solo play
+            leftPaddle = null; // No left paddle in this mode
+            leftAi = null;
+            leftPlayerScore = 0;
+            rightPlayerScore = 0;
+        } else {
+            // All other modes: two paddles are initialized, kept to their halves only if the rules say so
+            boolean sided = ruleset.hasSidedPaddles();
+            leftPaddle = new Paddle(CENTER, CENTER, config.getArenaRadius(), config.getPaddleLength(), config.getPaddleWidth(), config.getPaddleSpeed(), sided ? 1 : 0, ruleset.getLeftStartAngle());
+            rightPaddle = new Paddle(CENTER, CENTER, config.getArenaRadius(), config.getPaddleLength(), config.getPaddleWidth(), config.getPaddleSpeed(), sided ? 2 : 0, ruleset.getRightStartAngle());
+
+            leftAi = createAi(ruleset.getAiResponsiveness(), ruleset.getAiAccuracy(), rightPaddle);
+            rightAi = createAi(ruleset.getAiResponsiveness(), ruleset.getAiAccuracy(), leftPaddle);
+        }
+    }
+
+    private AiController createAi(double responsiveness, double accuracy, Paddle opponent) {
+        if (ruleset.usesClassicAi()) {
+            // The planner models Enhanced physics, so classic rules always get the classic AI
+            return new ClassicAiController(responsiveness, accuracy, CENTER, CENTER, layout.getArenaRadius(), random);
+        }
+        if (!usePlanningAi) {
+            return new AiController(responsiveness, accuracy, CENTER, CENTER, layout.getArenaRadius(), random);
+        }
+        PlanningAiController planner = new PlanningAiController(responsiveness, accuracy, CENTER, CENTER, layout.getArenaRadius(), random);
+        planner.setOpponent(opponent);
+        return planner;
+    }
+
+    private void handlePlayerInput(double leftDirection, double rightDirection, double leftTarget, double rightTarget) {
+        // Human controls only apply if the left paddle exists and is player-controlled
+        if (leftPaddle != null && (mode == GameMode.TWO_HUMAN || mode == GameMode.HUMAN_VS_AI)) {
+            steer(leftPaddle, leftDirection, leftTarget);
+        }
+        if (rightPaddle != null && mode == GameMode.TWO_HUMAN) {
+            steer(rightPaddle, rightDirection, rightTarget);
+        }
+    }
+
+    private static void steer(Paddle paddle, double direction, double target) {
+        if (!Double.isNaN(target)) {
+            paddle.moveBy(BallTrajectory.angleBetween(paddle.getAngle(), target)); // Clamped to paddle speed
+        } else if (direction != 0) {
+            paddle.move(direction);
+        }
+    }
+
+    private void updateAi(GameConfig config) {
+        // AI updates are handled based on the current game mode
+        switch (mode) {
+            case HUMAN_VS_AI:
+                if (rightAi != null) rightAi.updatePaddle(rightPaddle, ball, config);
+                break;
+            case TWO_AI:
+                if (leftAi != null) leftAi.updatePaddle(leftPaddle, ball, config);
+                if (rightAi != null) rightAi.updatePaddle(rightPaddle, ball, config);
+                break;
+            case AI_SOLO:
+                if (rightAi != null) rightAi.updatePaddle(rightPaddle, ball, config);
+                break;
+            default:
+                // No AI action for TWO_HUMAN mode
+                break;
+        }
+    }
+
+    private void handleCollisions(GameConfig config) {
+        if (ball.isAtLeast(ball.getX(), ball.getY(), config.getArenaRadius() - ball.getSize() / 2.0)) {
+            boolean collisionOccurred = false;
+
+            if (mode == GameMode.AI_SOLO) {
+                // --- SOLO MODE COLLISION LOGIC ---
+                if (rightPaddle.isAngleWithinPaddle(ball.getAngleFromCenter())) {
+                    ball.handlePaddleCollision(rightPaddle.getAngle(), config);
+                    for (Listener listener : listeners) listener.onPaddleHit(rightPaddle, ball.getX(), ball.getY());
+                    rightPlayerScore++; // Increment score on successful hit
+                    collisionOccurred = true;
+                }
+            } else {
+                // --- DUAL PADDLE COLLISION LOGIC ---
+                double ballAngle = ball.getAngleFromCenter();
+                Paddle paddleHit = null;
+                if (ruleset.hasSidedPaddles()) {
+                    // Only the paddle guarding the ball's half can make the save
+                    Paddle paddleToCheck = ball.getX() < WORLD_SIZE / 2.0 ? leftPaddle : rightPaddle;
+                    if (paddleToCheck != null && paddleToCheck.isAngleWithinPaddle(ballAngle)) paddleHit = paddleToCheck;
+                } else if (leftPaddle.isAngleWithinPaddle(ballAngle)) {
+                    paddleHit = leftPaddle;
+                } else if (rightPaddle.isAngleWithinPaddle(ballAngle)) {
+                    paddleHit = rightPaddle;
+                }
+                if (paddleHit != null) {
+                    ball.handlePaddleCollision(paddleHit.getAngle(), config);
+                    for (Listener listener : listeners) listener.onPaddleHit(paddleHit, ball.getX(), ball.getY());
+                    if (ruleset.scoresReturns()) {
+                        // Increment score for the player who hit the ball
+                        if (ball.getX() < WORLD_SIZE / 2.0) {
+                            leftPlayerScore++;
+                        } else {
+                            rightPlayerScore++;
+                        }
+                    }
+                    collisionOccurred = true;
+                }
+            }
+
+            // --- HANDLE A MISS ---
+            if (!collisionOccurred) {
+                for (Listener listener : listeners) listener.onMiss(ball.getX(), ball.getY());
+                if (mode == GameMode.AI_SOLO) {
+                    rightPlayerScore = 0; // Reset score on miss
+                }
+                else if (ruleset.scoresReturns()) {
+                    rightPlayerScore = 0;
+                    leftPlayerScore = 0;
+                }
+                else if (ball.getY() < CENTER) {
+                    leftPlayerScore++; // Missed in the top half: the point goes to player 1
+                } else {
+                    rightPlayerScore++;
+                }
+                ball.reset(config);
+            }
+        }
+    }
+
+    public GameConfig getLayout() { return layout; }
+    /** The config of the last tick, with any tuning since the arena was built; snapshots save this one. */
+    public GameConfig getConfig() { return config; }
+    public long getTickCount() { return tickCount; }
+    public GameMode getMode() { return mode; }
+    public Ruleset getRuleset() { return ruleset; }
+    public boolean isPlanningAi() { return usePlanningAi; }
+    public GameRandom getRandom() { return random; }
+    public Ball getBall() { return ball; }
+    public Paddle getLeftPaddle() { return leftPaddle; }
+    public Paddle getRightPaddle() { return rightPaddle; }
+    public AiController getLeftAi() { return leftAi; }
+    public AiController getRightAi() { return rightAi; }
+    public int getLeftScore() { return leftPlayerScore; }
+    public int getRightScore() { return rightPlayerScore; }
+}
@@ -0,0 +1,110 @@
+package circlepong.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The best rallies per game mode, kept sorted in memory so lookups are a list access.
+ * Saved as a checksummed index file that also remembers how far into the {@link MatchLog} it has absorbed.
+ */
+public final class Leaderboard {
+    static final int TOP_K = 100;
+    private static final int MAGIC = 0x43504C42;     // "CPLB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;       // Magic, version, log offset, record count, checksum
+
+    private final Map<GameMode, List<MatchRecord>> byMode = new EnumMap<>(GameMode.class);
+    private long logOffset = MatchLog.HEADER_SIZE;   // Log entries before this are already included
+
+    Leaderboard() {
+        for (GameMode mode : GameMode.values()) byMode.put(mode, new ArrayList<>());
+    }
+
+    /** Adds a rally if it ranks in its mode's top {@value #TOP_K}. */
+    synchronized void offer(MatchRecord record) {
+        List<MatchRecord> ranked = byMode.get(record.mode);
+        if (ranked.size() == TOP_K && MatchRecord.compareRank(record, ranked.get(TOP_K - 1)) >= 0) return;
+        int index = Collections.binarySearch(ranked, record, MatchRecord::compareRank);
+        ranked.add(index < 0 ? -index - 1 : index, record);
+        if (ranked.size() > TOP_K) ranked.remove(TOP_K);
+    }
+
+    /** Longest rally recorded for the mode, or 0. */
+    public synchronized int getBestRally(GameMode mode) {
+        List<MatchRecord> ranked = byMode.get(mode);
+        return ranked.isEmpty() ? 0 : ranked.get(0).rallyLength;
+    }
+
+    public synchronized List<MatchRecord> top(GameMode mode, int count) {
+        List<MatchRecord> ranked = byMode.get(mode);
+        return new ArrayList<>(ranked.subList(0, Math.min(count, ranked.size())));
+    }
+
+    synchronized long getLogOffset() {
+        return logOffset;
+    }
+
+    synchronized void setLogOffset(long logOffset) {
+        this.logOffset = logOffset;
+    }
+
+    /** Encodes the whole board. Taken under the lock so it matches the log offset it records. */
+    synchronized ByteBuffer snapshot() {
+        int count = 0;
+        for (List<MatchRecord> ranked : byMode.values()) count += ranked.size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * MatchRecord.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(HEADER_SIZE);
+        for (List<MatchRecord> ranked : byMode.values()) {
+            for (MatchRecord record : ranked) record.encode(buffer);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, buffer.position() - HEADER_SIZE);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, logOffset).putInt(16, count).putInt(20, (int) crc.getValue());
+        buffer.rewind();
+        return buffer;
+    }
+
+    /** Writes the snapshot beside the target and renames it into place, so a crash never leaves half an index. */
+    static void save(ByteBuffer snapshot, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, snapshot.array());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Loads a saved board; a missing or damaged index yields an empty board that replays the whole log. */
+    static Leaderboard load(Path file) {
+        Leaderboard board = new Leaderboard();
+        if (!Files.exists(file)) return board;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("unrecognised header");
+            }
+            int count = buffer.getInt(16);
+            if (count < 0 || buffer.remaining() != HEADER_SIZE + (long) count * MatchRecord.SIZE) {
+                throw new IOException("truncated");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), HEADER_SIZE, count * MatchRecord.SIZE);
+            if ((int) crc.getValue() != buffer.getInt(20)) throw new IOException("checksum mismatch");
+
+            buffer.position(HEADER_SIZE);
+            for (int i = 0; i < count; i++) board.offer(MatchRecord.decode(buffer));
+            board.logOffset = buffer.getLong(8);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Rebuilding leaderboard, " + file + " is unusable: " + e.getMessage());
+            return new Leaderboard();
+        }
+        return board;
+    }
+}
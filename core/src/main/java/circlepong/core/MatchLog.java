@@ -0,0 +1,167 @@
+package circlepong.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of {@link MatchRecord}s in a memory-mapped file.
+ * Each entry is framed as [length][CRC32][payload] and the length is written last, so a crash mid-append leaves
+ * either a zero length or a checksum mismatch. Opening the log scans forward and truncates at the first entry
+ * that doesn't verify; everything before it is intact.
+ */
+final class MatchLog implements AutoCloseable {
+    private static final int MAGIC = 0x43504C47;      // "CPLG"
+    private static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    private static final int FRAME_OVERHEAD = 8;      // Length and checksum
+    private static final int GROWTH_CHUNK = 1 << 20;  // Map a megabyte at a time
+
+    private final FileChannel channel;
+    private volatile MappedByteBuffer mapped; // Replaced by a larger mapping as the log grows
+    private long writeOffset;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MatchRecord.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private MatchLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens or creates the log and recovers the end of its last intact entry. Entries before {@code durableOffset}
+     * are known to have been forced to disk (e.g. by a saved index) and are not re-verified, as long as the entry
+     * just before that offset still checks out.
+     */
+    static MatchLog open(Path file, long durableOffset) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MatchLog log = new MatchLog(channel);
+        try {
+            log.recover(durableOffset);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return log;
+    }
+
+    private void recover(long durableOffset) throws IOException {
+        long size = channel.size();
+        remap(Math.max(size, GROWTH_CHUNK));
+        if (size == 0) {
+            mapped.putInt(4, VERSION);
+            mapped.putInt(0, MAGIC);
+            writeOffset = HEADER_SIZE;
+            return;
+        }
+        if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+            throw new IOException("Not a match log (or an unsupported version)");
+        }
+        long lastDurableEntry = durableOffset - FRAME_OVERHEAD - MatchRecord.SIZE;
+        boolean trusted = lastDurableEntry >= HEADER_SIZE && durableOffset <= size
+                && (lastDurableEntry - HEADER_SIZE) % (FRAME_OVERHEAD + MatchRecord.SIZE) == 0
+                && scan(lastDurableEntry, null) >= durableOffset;
+        writeOffset = scan(trusted ? durableOffset : HEADER_SIZE, null);
+        zeroTail();
+    }
+
+    /**
+     * Wipes everything after the last intact entry, so a torn append (or older entries beyond a damaged one)
+     * can never reappear behind newer appends. Only chunks that actually hold data are written.
+     */
+    private void zeroTail() {
+        ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+        int position = (int) writeOffset;
+        while (position < mapped.capacity()) {
+            int length = Math.min(zeros.capacity(), mapped.capacity() - position);
+            ByteBuffer chunk = mapped.slice(position, length);
+            if (chunk.mismatch(zeros.limit(length)) != -1) mapped.put(position, zeros, 0, length);
+            zeros.clear();
+            position += length;
+        }
+    }
+
+    /** Appends one record; it is on disk once the OS flushes the page or {@link #force()} is called. */
+    synchronized long append(MatchRecord record) throws IOException {
+        scratch.clear();
+        record.encode(scratch);
+        scratch.flip();
+        int length = scratch.remaining();
+        ensureCapacity(writeOffset + FRAME_OVERHEAD + length);
+
+        crc.reset();
+        crc.update(scratch.duplicate());
+        int position = (int) writeOffset;
+        mapped.put(position + FRAME_OVERHEAD, scratch, 0, length);
+        mapped.putInt(position + 4, (int) crc.getValue());
+        mapped.putInt(position, length); // Last: this is what makes the entry visible to a scan
+
+        long recordOffset = writeOffset;
+        writeOffset += FRAME_OVERHEAD + length;
+        return recordOffset;
+    }
+
+    /** Reads every intact record from the given offset, passing each with its offset. Returns the end offset. */
+    synchronized long readFrom(long offset, ObjLongConsumer<MatchRecord> consumer) {
+        return scan(Math.max(HEADER_SIZE, offset), consumer);
+    }
+
+    synchronized long getEndOffset() {
+        return writeOffset;
+    }
+
+    /** Flushes appended entries to disk. Not synchronized, so appends carry on during the (slow) flush. */
+    void force() {
+        mapped.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        mapped.force();
+        channel.close();
+    }
+
+    private long scan(long offset, ObjLongConsumer<MatchRecord> consumer) {
+        long limit = Math.min(mapped.capacity(), consumer == null ? Long.MAX_VALUE : writeOffset);
+        while (offset + FRAME_OVERHEAD <= limit) {
+            int position = (int) offset;
+            int length = mapped.getInt(position);
+            if (length != MatchRecord.SIZE || offset + FRAME_OVERHEAD + length > limit) break;
+
+            ByteBuffer payload = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            payload.position(position + FRAME_OVERHEAD).limit(position + FRAME_OVERHEAD + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != mapped.getInt(position + 4)) break;
+
+            MatchRecord record;
+            try {
+                record = MatchRecord.decode(payload);
+            } catch (IllegalArgumentException e) {
+                break; // Checksum matched but the content is from a newer format
+            }
+            if (consumer != null) consumer.accept(record, offset);
+            offset += FRAME_OVERHEAD + length;
+        }
+        return offset;
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required <= mapped.capacity()) return;
+        long size = mapped.capacity();
+        while (size < required) size += GROWTH_CHUNK;
+        if (size > Integer.MAX_VALUE) throw new IOException("Match log is full");
+        remap(size);
+    }
+
+    private void remap(long size) throws IOException {
+        // Mapping past the end extends the file; the old mapping is released once it is garbage collected
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,84 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The result of one rally, from serve to miss: who was playing, with which AI settings, and how it went.
+ * Encoded as a fixed-size little-endian record for {@link MatchLog}.
+ */
+public final class MatchRecord {
+    static final int SIZE = 48;
+    static final int FLAG_PLANNING_AI = 1;
+
+    final long timestampMillis;   // Wall clock when the rally ended
+    final GameMode mode;
+    public final int rallyLength;        // Paddle hits before the miss
+    final int durationTicks;
+    public final float maxBallSpeed;
+    final float leftResponsiveness, leftAccuracy;   // NaN when that side has no AI
+    final float rightResponsiveness, rightAccuracy;
+    final int flags;
+
+    MatchRecord(long timestampMillis, GameMode mode, int rallyLength, int durationTicks, float maxBallSpeed,
+                float leftResponsiveness, float leftAccuracy, float rightResponsiveness, float rightAccuracy, int flags) {
+        this.timestampMillis = timestampMillis;
+        this.mode = mode;
+        this.rallyLength = rallyLength;
+        this.durationTicks = durationTicks;
+        this.maxBallSpeed = maxBallSpeed;
+        this.leftResponsiveness = leftResponsiveness;
+        this.leftAccuracy = leftAccuracy;
+        this.rightResponsiveness = rightResponsiveness;
+        this.rightAccuracy = rightAccuracy;
+        this.flags = flags;
+    }
+
+    public double getDurationSeconds() {
+        return durationTicks / 60.0;
+    }
+
+    /** Leaderboard order: longer rallies first, then faster ones, then older ones (first to set a record keeps it). */
+    static int compareRank(MatchRecord a, MatchRecord b) {
+        if (a.rallyLength != b.rallyLength) return Integer.compare(b.rallyLength, a.rallyLength);
+        if (a.maxBallSpeed != b.maxBallSpeed) return Float.compare(b.maxBallSpeed, a.maxBallSpeed);
+        return Long.compare(a.timestampMillis, b.timestampMillis);
+    }
+
+    /** Writes the record at the buffer's position, which must be little-endian and have {@link #SIZE} bytes left. */
+    void encode(ByteBuffer buffer) {
+        buffer.putLong(timestampMillis);
+        buffer.putInt(mode.ordinal());
+        buffer.putInt(rallyLength);
+        buffer.putInt(durationTicks);
+        buffer.putFloat(maxBallSpeed);
+        buffer.putFloat(leftResponsiveness);
+        buffer.putFloat(leftAccuracy);
+        buffer.putFloat(rightResponsiveness);
+        buffer.putFloat(rightAccuracy);
+        buffer.putInt(flags);
+        buffer.putInt(0); // Reserved
+    }
+
+    /** Reads a record written by {@link #encode}, throwing IllegalArgumentException if it can't be one. */
+    static MatchRecord decode(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE) throw new IllegalArgumentException("Truncated match record");
+        long timestamp = buffer.getLong();
+        int modeOrdinal = buffer.getInt();
+        if (modeOrdinal < 0 || modeOrdinal >= GameMode.values().length) {
+            throw new IllegalArgumentException("Unknown game mode " + modeOrdinal);
+        }
+        int rallyLength = buffer.getInt();
+        int durationTicks = buffer.getInt();
+        if (rallyLength < 0 || durationTicks < 0) throw new IllegalArgumentException("Bad rally length or duration");
+        float maxBallSpeed = buffer.getFloat();
+        float leftResponsiveness = buffer.getFloat();
+        float leftAccuracy = buffer.getFloat();
+        float rightResponsiveness = buffer.getFloat();
+        float rightAccuracy = buffer.getFloat();
+        int flags = buffer.getInt();
+        if ((flags & ~FLAG_PLANNING_AI) != 0) throw new IllegalArgumentException("Unknown record flags " + flags);
+        buffer.getInt(); // Reserved
+        return new MatchRecord(timestamp, GameMode.values()[modeOrdinal], rallyLength, durationTicks, maxBallSpeed,
+                leftResponsiveness, leftAccuracy, rightResponsiveness, rightAccuracy, flags);
+    }
+}
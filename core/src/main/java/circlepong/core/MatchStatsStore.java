@@ -0,0 +1,143 @@
+package circlepong.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded rally statistics: every finished rally is appended to a {@link MatchLog}, and the {@link Leaderboard}
+ * built from it is compacted to an index file in the background every {@value #COMPACT_EVERY} records.
+ * Reopening loads the index and replays only the log entries written after it.
+ */
+public final class MatchStatsStore implements AutoCloseable {
+    private static final int COMPACT_EVERY = 256;
+
+    private final MatchLog log;
+    private final Leaderboard leaderboard;
+    private final Path indexFile;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "leaderboard-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private int recordsSinceCompaction = 0;
+    private boolean reportedWriteFailure = false;
+
+    private MatchStatsStore(MatchLog log, Leaderboard leaderboard, Path indexFile) {
+        this.log = log;
+        this.leaderboard = leaderboard;
+        this.indexFile = indexFile;
+    }
+
+    public static MatchStatsStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path indexFile = directory.resolve("leaderboard.idx");
+        Leaderboard loaded = Leaderboard.load(indexFile);
+        // The index is only saved after the log is forced, so the log is durable up to the index's offset
+        MatchLog log = MatchLog.open(directory.resolve("matches.log"), loaded.getLogOffset());
+        // An index ahead of the log means the log lost its tail since; start over from the log alone
+        Leaderboard leaderboard = loaded.getLogOffset() <= log.getEndOffset() ? loaded : new Leaderboard();
+        leaderboard.setLogOffset(log.readFrom(leaderboard.getLogOffset(), (record, offset) -> leaderboard.offer(record)));
+        return new MatchStatsStore(log, leaderboard, indexFile);
+    }
+
+    public Leaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    /** Appends a rally and ranks it. Write failures are reported once and otherwise ignored; play goes on. */
+    synchronized void record(MatchRecord record) {
+        try {
+            log.append(record);
+        } catch (IOException e) {
+            if (!reportedWriteFailure) System.err.println("Could not record rally: " + e.getMessage());
+            reportedWriteFailure = true;
+            return;
+        }
+        leaderboard.offer(record);
+        leaderboard.setLogOffset(log.getEndOffset());
+        if (++recordsSinceCompaction >= COMPACT_EVERY) {
+            recordsSinceCompaction = 0;
+            ByteBuffer snapshot = leaderboard.snapshot();
+            compactor.execute(() -> compact(snapshot));
+        }
+    }
+
+    private void compact(ByteBuffer snapshot) {
+        try {
+            log.force(); // The index must never claim entries that could still be lost from the log
+            Leaderboard.save(snapshot, indexFile);
+        } catch (IOException e) {
+            System.err.println("Could not save leaderboard: " + e.getMessage());
+        }
+    }
+
+    /** A listener that turns a simulation's hits and misses into rally records. */
+    public GameSimulation.Listener recorderFor(GameSimulation simulation) {
+        return new RallyRecorder(simulation);
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ByteBuffer snapshot;
+        synchronized (this) {
+            snapshot = leaderboard.snapshot();
+        }
+        compact(snapshot);
+        log.close();
+    }
+
+    private final class RallyRecorder implements GameSimulation.Listener {
+        private final GameSimulation simulation;
+        private int hits;
+        private double maxSpeed;
+        private long rallyStartTick;
+
+        RallyRecorder(GameSimulation simulation) {
+            this.simulation = simulation;
+            startRally();
+        }
+
+        @Override
+        public void onPaddleHit(Paddle paddle, double x, double y) {
+            hits++;
+            maxSpeed = Math.max(maxSpeed, simulation.getBall().getSpeed());
+        }
+
+        @Override
+        public void onMiss(double x, double y) {
+            maxSpeed = Math.max(maxSpeed, simulation.getBall().getSpeed());
+            AiController leftAi = simulation.getLeftAi();
+            AiController rightAi = simulation.getRightAi();
+            boolean leftIsAi = leftAi != null && simulation.getMode() == GameMode.TWO_AI;
+            boolean rightIsAi = rightAi != null && simulation.getMode() != GameMode.TWO_HUMAN;
+            record(new MatchRecord(System.currentTimeMillis(), simulation.getMode(), hits,
+                    (int) (simulation.getTickCount() - rallyStartTick), (float) maxSpeed,
+                    leftIsAi ? (float) leftAi.getResponsiveness() : Float.NaN, leftIsAi ? (float) leftAi.getAccuracy() : Float.NaN,
+                    rightIsAi ? (float) rightAi.getResponsiveness() : Float.NaN, rightIsAi ? (float) rightAi.getAccuracy() : Float.NaN,
+                    simulation.isPlanningAi() ? MatchRecord.FLAG_PLANNING_AI : 0));
+            startRally();
+        }
+
+        @Override
+        public void onReset() {
+            startRally(); // An abandoned rally is not a result
+        }
+
+        private void startRally() {
+            hits = 0;
+            maxSpeed = 0;
+            rallyStartTick = simulation.getTickCount();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Represents a player's paddle, handling its movement and collision detection.
+ */
+public class Paddle {
+    private double angle;
+    private final int centerX, centerY;
+    private final int radius, length, width;
+    private final double speed; // Max speed for human players
+    private final int playerId; // 0=Free (solo or classic), 1=Left, 2=Right
+
+    public Paddle(int centerX, int centerY, int radius, int length, int width, double speed, int playerId, double initialAngle) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        this.length = length;
+        this.width = width;
+        this.speed = speed;
+        this.playerId = playerId;
+        this.angle = initialAngle;
+    }
+
+    /** Moves by {@code direction} steps of the paddle speed; fractional steps come from sub-tick input. */
+    public void move(double direction) {
+        moveTo(angle + direction * speed);
+    }
+
+    public void moveBy(double angleDelta) {
+        // Clamp the AI's movement to a maximum speed
+        double maxMove = this.speed; // Allow AI to move slightly faster than players
+        angleDelta = Math.max(-maxMove, Math.min(maxMove, angleDelta));
+
+        moveTo(angle + angleDelta);
+    }
+
+    /** Moves to an angle, or as far as the edge of this paddle's half when the angle is past it. */
+    private void moveTo(double newAngle) {
+        if (!isValidMove(newAngle)) {
+            // A sided paddle's half runs between π/2 and 3π/2 either way round, so whichever is nearer was crossed
+            double toTop = Math.abs(BallTrajectory.angleBetween(newAngle, Math.PI / 2));
+            double toBottom = Math.abs(BallTrajectory.angleBetween(newAngle, 3 * Math.PI / 2));
+            newAngle = toTop <= toBottom ? Math.PI / 2 : 3 * Math.PI / 2;
+        }
+        angle = newAngle;
+        normalizeAngle();
+    }
+
+    /** Whether this paddle is allowed to sit at the given angle. */
+    public boolean isAngleInRange(double testAngle) {
+        return isValidMove(testAngle);
+    }
+
+    private boolean isValidMove(double testAngle) {
+        // The solo AI (player 0) has no movement restrictions
+        if (playerId == 0) return true;
+
+        double normalized = BallTrajectory.normalizeAngle(testAngle);
+        if (playerId == 1) { // Player 1 (left side): π/2 to 3π/2
+            return normalized >= Math.PI / 2 && normalized <= 3 * Math.PI / 2;
+        } else { // Player 2 (right side): 3π/2 to π/2
+            return normalized >= 3 * Math.PI / 2 || normalized <= Math.PI / 2;
+        }
+    }
+
+    private void normalizeAngle() {
+        angle = BallTrajectory.normalizeAngle(angle);
+    }
+
+    public boolean isAngleWithinPaddle(double ballAngle) {
+        double paddleArc = (double) length / radius;
+        double normalizedBallAngle = BallTrajectory.normalizeAngle(ballAngle);
+        double normalizedPaddleAngle = BallTrajectory.normalizeAngle(angle);
+
+        double diff = Math.abs(normalizedBallAngle - normalizedPaddleAngle);
+        if (diff > Math.PI) diff = 2 * Math.PI - diff; // Get the shorter angle difference
+        return diff <= paddleArc / 2;
+    }
+
+    public double getAngle() { return angle; }
+    public void setAngle(double angle) { this.angle = angle; }
+    /** Only the angle changes during play: 8 bytes. */
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(angle);
+    }
+
+    void readState(ByteBuffer buffer) {
+        angle = buffer.getDouble();
+    }
+
+    public double getSpeed() { return speed; }
+    public double getArc() { return (double) length / radius; }
+    public int getCenterX() { return centerX; }
+    public int getCenterY() { return centerY; }
+    public int getRadius() { return radius; }
+    public int getWidth() { return width; }
+}
@@ -0,0 +1,174 @@
+package circlepong.core;
+
+/**
+ * An AI that plans whole rallies with the analytic ball trajectory instead of a fixed-horizon frame simulation.
+ * It predicts the intercept however far away it is, then picks where on its paddle to take the ball so the
+ * return is as hard as possible for the opponent (or, in solo play, as easy as possible for itself).
+ */
+class PlanningAiController extends AiController {
+    private static final int AIM_CANDIDATES = 9;           // Hit offsets tried across the paddle face
+    private static final double AIM_SPREAD = 0.8;          // Fraction of the half-arc used, keeps the ball off the paddle tips
+    private static final int MAX_PLANNED_BOUNCES = 4;      // Rim contacts followed after our own return
+    private static final double FUTURE_BOUNCE_WEIGHT = 0.5; // Later bounces are less certain, so they count for less
+    private static final double MAX_PRESSURE = 2.0;        // Clamp per-bounce pressure so one unreachable ball can't dominate
+    private static final double SELF_PRESSURE_WEIGHT = 3.0; // Not missing our own next ball matters more than stretching theirs
+    private static final long PLANNING_BUDGET_NANOS = 250_000; // Planning time allowed per tick; the rest carries over
+
+    private final int centerX, centerY;
+    private final int radius;
+    private Paddle opponent;
+
+    // The incoming flight and the plan built for it. Replaced only by the game thread, read by the renderer.
+    private volatile Plan plan;
+
+    public PlanningAiController(double responsiveness, double accuracy, int centerX, int centerY, int radius, GameRandom random) {
+        super(responsiveness, accuracy, centerX, centerY, radius, random);
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+    }
+
+    /** The paddle this AI is playing against, or null when it is rallying alone. */
+    public void setOpponent(Paddle opponent) { this.opponent = opponent; }
+
+    @Override
+    public double predictBallInterceptAngle(Ball ball) {
+        Plan current = plan;
+        BallTrajectory.Segment incoming = (current != null && current.matches(ball)) ? current.incoming : incomingFlight(ball);
+        return incoming.reachesRim() ? incoming.rimAngle : -1;
+    }
+
+    @Override
+    protected double aimOffset(Paddle paddle, Ball ball, double interceptAngle, GameConfig config) {
+        Plan current = plan;
+        if (current == null || !current.matches(ball)) {
+            current = new Plan(incomingFlight(ball));
+            plan = current;
+        }
+        if (!current.incoming.reachesRim() || !isOurBall(paddle, current.incoming.rimAngle)) return 0.0;
+
+        int ticksLeft = current.incoming.ticks - current.ticksElapsed(ball);
+        current.evaluate(paddle, config, ticksLeft, System.nanoTime() + PLANNING_BUDGET_NANOS);
+        return current.bestOffset(paddle, ticksLeft);
+    }
+
+    private BallTrajectory.Segment incomingFlight(Ball ball) {
+        return BallTrajectory.flight(ball.getX(), ball.getY(), ball.getVelX(), ball.getVelY(), ball.getSpeed(),
+                centerX, centerY, radius - ball.getSize() / 2.0);
+    }
+
+    private boolean isOurBall(Paddle paddle, double rimAngle) {
+        return opponent == null || paddle.isAngleInRange(rimAngle);
+    }
+
+    /**
+     * Candidate hit offsets for one incoming flight. Evaluation is incremental so a tick that runs out of
+     * budget simply resumes on the next one; the outgoing flights are memoized for the life of the plan.
+     */
+    private final class Plan {
+        final BallTrajectory.Segment incoming;
+        final double[] offsets = new double[AIM_CANDIDATES];
+        final double[] scores = new double[AIM_CANDIDATES];
+        final BallTrajectory.Segment[] returns = new BallTrajectory.Segment[AIM_CANDIDATES];
+        int evaluated = 0;
+
+        Plan(BallTrajectory.Segment incoming) {
+            this.incoming = incoming;
+        }
+
+        boolean matches(Ball ball) {
+            if (ball.getVelX() != incoming.velX || ball.getVelY() != incoming.velY) return false;
+            int elapsed = ticksElapsed(ball);
+            return elapsed >= 0 && (!incoming.reachesRim() || elapsed <= incoming.ticks);
+        }
+
+        int ticksElapsed(Ball ball) {
+            double velSquared = incoming.velX * incoming.velX + incoming.velY * incoming.velY;
+            if (velSquared == 0) return 0;
+            double along = (ball.getX() - incoming.startX) * incoming.velX + (ball.getY() - incoming.startY) * incoming.velY;
+            return (int) Math.round(along / velSquared);
+        }
+
+        void evaluate(Paddle paddle, GameConfig config, int ticksLeft, long deadline) {
+            double halfArc = paddle.getArc() / 2 * AIM_SPREAD;
+            while (evaluated < AIM_CANDIDATES) {
+                int i = evaluated++;
+                offsets[i] = -halfArc + 2 * halfArc * i / (AIM_CANDIDATES - 1);
+                returns[i] = BallTrajectory.bounce(incoming, incoming.rimAngle + offsets[i], centerX, centerY, config);
+                scores[i] = scoreReturn(paddle, config, incoming.rimAngle + offsets[i], returns[i], ticksLeft);
+                if (System.nanoTime() >= deadline) break;
+            }
+        }
+
+        double bestOffset(Paddle paddle, int ticksLeft) {
+            double bestOffset = 0.0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            // Worst-case aiming error from the inaccuracy model in AiController
+            double tolerance = paddle.getArc() / 2 - (1.0 - getAccuracy()) * 0.3;
+            for (int i = 0; i < evaluated; i++) {
+                double target = incoming.rimAngle + offsets[i];
+                if (!paddle.isAngleInRange(target)) continue; // moveBy would stop at the edge of the half
+                // Only aim where the paddle will have settled close enough before the ball arrives
+                double travel = Math.abs(BallTrajectory.angleBetween(paddle.getAngle(), target));
+                double miss = Math.abs(offsets[i]) + residualTravel(paddle, travel, ticksLeft);
+                if (miss <= tolerance * AIM_SPREAD && scores[i] > bestScore) {
+                    bestScore = scores[i];
+                    bestOffset = offsets[i];
+                }
+            }
+            return bestOffset;
+        }
+
+        /**
+         * Distance still to go after the given ticks under AiController's movement: full paddle speed
+         * while far away, then closing a fixed fraction of the gap each tick.
+         */
+        private double residualTravel(Paddle paddle, double travel, int ticks) {
+            double speed = paddle.getSpeed();
+            double responsiveness = getResponsiveness();
+            double clampedTicks = Math.max(0.0, (travel - speed / responsiveness) / speed);
+            if (ticks <= clampedTicks) return travel - ticks * speed;
+            return Math.min(travel, speed / responsiveness) * Math.pow(1.0 - responsiveness, ticks - clampedTicks);
+        }
+
+        /**
+         * Follows the rally after our return, assuming every later hit is taken in the middle of the paddle.
+         * Each rim contact scores the hitter's pressure, the share of their full-speed reach the ball demands:
+         * it counts for us when the opponent has to stretch and against us when we do. The rally stops at the
+         * first predicted miss.
+         */
+        private double scoreReturn(Paddle paddle, GameConfig config, double hitAngle, BallTrajectory.Segment flight, int ticksLeft) {
+            double selfAngle = hitAngle;
+            double opponentAngle = opponent != null ? opponent.getAngle() : hitAngle;
+            int selfFreeAt = ticksLeft;
+            int opponentFreeAt = 0;
+            int elapsed = ticksLeft;
+
+            double score = 0.0;
+            double weight = 1.0;
+            for (int bounce = 0; bounce < MAX_PLANNED_BOUNCES && flight.reachesRim(); bounce++) {
+                elapsed += flight.ticks;
+                boolean ours = opponent == null || paddle.isAngleInRange(flight.rimAngle);
+                Paddle hitter = ours ? paddle : opponent;
+                double from = ours ? selfAngle : opponentAngle;
+                int ticksAvailable = elapsed - (ours ? selfFreeAt : opponentFreeAt);
+
+                double travel = Math.abs(BallTrajectory.angleBetween(from, flight.rimAngle));
+                double pressure = Math.min(MAX_PRESSURE, travel / (hitter.getSpeed() * Math.max(1, ticksAvailable)));
+                score += weight * (ours ? -SELF_PRESSURE_WEIGHT * pressure : pressure);
+                if (pressure > 1.0) break;
+
+                if (ours) {
+                    selfAngle = flight.rimAngle;
+                    selfFreeAt = elapsed;
+                } else {
+                    opponentAngle = flight.rimAngle;
+                    opponentFreeAt = elapsed;
+                }
+                flight = BallTrajectory.bounce(flight, flight.rimAngle, centerX, centerY, config);
+                weight *= FUTURE_BOUNCE_WEIGHT;
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package circlepong.core;
+
+/**
+ * A fixed-bin histogram over the most recent {@code window} samples: each new sample evicts the oldest one,
+ * so the distribution tracks the current session instead of all of history. Values outside the range are
+ * clamped into the first or last bin.
+ */
+final class RollingHistogram {
+    private final String name;
+    private final double min, max;
+    private final long[] bins;
+    private final double[] samples;  // Circular buffer of the samples currently counted
+    private int next = 0;
+    private int size = 0;
+    private long total = 0;          // Every sample ever added, including evicted ones
+
+    RollingHistogram(String name, double min, double max, int binCount, int window) {
+        this.name = name;
+        this.min = min;
+        this.max = max;
+        this.bins = new long[binCount];
+        this.samples = new double[window];
+    }
+
+    synchronized void add(double value) {
+        if (size == samples.length) {
+            bins[bin(samples[next])]--;
+        } else {
+            size++;
+        }
+        samples[next] = value;
+        bins[bin(value)]++;
+        next = (next + 1) % samples.length;
+        total++;
+    }
+
+    synchronized int getSize() {
+        return size;
+    }
+
+    synchronized long getTotal() {
+        return total;
+    }
+
+    synchronized long[] getBins() {
+        return bins.clone();
+    }
+
+    /** Lower edge of the given bin. */
+    double binStart(int bin) {
+        return min + (max - min) * bin / bins.length;
+    }
+
+    int getBinCount() {
+        return bins.length;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /** Upper edge of the bin holding the given percentile, or NaN when empty. */
+    synchronized double percentile(double percentile) {
+        if (size == 0) return Double.NaN;
+        long target = (long) Math.ceil(size * percentile);
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            seen += bins[i];
+            if (seen >= target) return binStart(i + 1);
+        }
+        return max;
+    }
+
+    /** Centre of the fullest bin, or NaN when empty. */
+    synchronized double mode() {
+        if (size == 0) return Double.NaN;
+        int best = 0;
+        for (int i = 1; i < bins.length; i++) {
+            if (bins[i] > bins[best]) best = i;
+        }
+        return (binStart(best) + binStart(best + 1)) / 2;
+    }
+
+    private int bin(double value) {
+        int bin = (int) ((value - min) / (max - min) * bins.length);
+        return Math.max(0, Math.min(bins.length - 1, bin));
+    }
+}
@@ -0,0 +1,61 @@
+package circlepong.core;
+
+/**
+ * The rules a {@link GameSimulation} plays by. CirclePong and Enhanced Circle Pong run on the same core and differ
+ * only in the settings here, each chosen so the game plays exactly as its original front-end did.
+ */
+public enum Ruleset {
+    /**
+     * The original CirclePong: free-roaming paddles that each guard the whole rim, a point to the player on the
+     * other half for every miss, a ball that never speeds up, and an AI that steers at full speed or not at all.
+     */
+    CLASSIC(GameConfig.CLASSIC, 0, Math.PI, false, false, 0.1, false, 0.02, 0.85, true),
+
+    /** Enhanced Circle Pong: each paddle keeps to its half, returns score and a miss clears the board. */
+    ENHANCED(GameConfig.DEFAULTS, Math.PI, 0, true, true, 0.2, true, 0.1, 0.9, false);
+
+    private final GameConfig defaultConfig;
+    private final double leftStartAngle, rightStartAngle;
+    private final boolean sidedPaddles;    // Paddles keep to their half and only the ball's half is checked for a save
+    private final boolean scoresReturns;   // A point per return and a miss clears both scores, instead of a point per miss
+    private final double bounceJitter;     // Random velocity added to each component on a paddle hit
+    private final boolean rimReflection;   // A paddle hit that still heads out of the arena is reflected off the rim
+    private final double aiResponsiveness, aiAccuracy;
+    private final boolean classicAi;
+
+    Ruleset(GameConfig defaultConfig, double leftStartAngle, double rightStartAngle, boolean sidedPaddles, boolean scoresReturns,
+            double bounceJitter, boolean rimReflection, double aiResponsiveness, double aiAccuracy, boolean classicAi) {
+        this.defaultConfig = defaultConfig;
+        this.leftStartAngle = leftStartAngle;
+        this.rightStartAngle = rightStartAngle;
+        this.sidedPaddles = sidedPaddles;
+        this.scoresReturns = scoresReturns;
+        this.bounceJitter = bounceJitter;
+        this.rimReflection = rimReflection;
+        this.aiResponsiveness = aiResponsiveness;
+        this.aiAccuracy = aiAccuracy;
+        this.classicAi = classicAi;
+    }
+
+    /**
+     * Length of a vector, rounded the way this game always has: Enhanced used {@link Math#hypot}, the original a
+     * plain square root. The two can differ in the last bit, and a recorded match drifts apart from there.
+     */
+    double length(double dx, double dy) {
+        return this == ENHANCED ? Math.hypot(dx, dy) : Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public GameConfig getDefaultConfig() { return defaultConfig; }
+    /** Where the left-slot paddle (player 1) starts. */
+    double getLeftStartAngle() { return leftStartAngle; }
+    double getRightStartAngle() { return rightStartAngle; }
+    boolean hasSidedPaddles() { return sidedPaddles; }
+    boolean scoresReturns() { return scoresReturns; }
+    double getBounceJitter() { return bounceJitter; }
+    /** The original let such a ball run into the rim again on the next tick; its traces depend on that. */
+    boolean reflectsOffRim() { return rimReflection; }
+    /** Starting difficulty of the AIs in two-paddle modes. For the classic AI responsiveness is its reaction threshold. */
+    public double getAiResponsiveness() { return aiResponsiveness; }
+    public double getAiAccuracy() { return aiAccuracy; }
+    boolean usesClassicAi() { return classicAi; }
+}
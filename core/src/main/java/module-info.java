@@ -0,0 +1,7 @@
+/**
+ * The game itself: physics, AI, rules, snapshots, rally stats and analytics. Depends on nothing but java.base,
+ * so headless hosts can be linked into a small runtime image.
+ */
+module circlepong.core {
+    exports circlepong.core;
+}
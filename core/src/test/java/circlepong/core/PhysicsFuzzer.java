@@ -0,0 +1,516 @@
+package circlepong.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Randomised checks of the physics and AI at headless speed. It lives with the test sources, so it stays out of the
+ * core jar, and in the core package, so it can start the ball in states the public API can't reach. Each case draws
+ * a ruleset, mode, layout, physics settings, a starting ball and paddles, and per-tick input from one seed. That
+ * includes values no properties file allows but the in-game keys reach, such as a negative speed increment or a cap
+ * below the serve speed. The case is played while these invariants are checked after every tick:
+ *
+ *   finite   ball and paddle state are finite numbers
+ *   speed    the ball's speed is positive, no faster than the fastest serve or cap seen, and matches its velocity
+ *   inside   the ball's centre is inside the arena
+ *   rim      every paddle hit sends the ball back into the arena, not on past the rim
+ *   paddle   paddles stay normalised and in their half, and a human paddle pushed against its edge reaches it
+ *
+ * A failing case is shrunk for as long as the same invariant still fails. Settings go back to the ruleset's
+ * defaults, extras are dropped and numbers are rounded. The result is printed as a --replay argument, and
+ * {@code --trace} prints the replay tick by tick. The planning AI is left out: it plans against a wall-clock budget,
+ * so its cases wouldn't replay bit for bit.
+ *
+ * Usage: java -cp core/target/classes:core/target/test-classes circlepong.core.PhysicsFuzzer [--cases=200000]
+ *            [--seed=1] [--ticks=2000] [--workers=N] | --replay=CASE [--trace]
+ */
+public final class PhysicsFuzzer {
+    private static final double EDGE_TOLERANCE = 1e-9;     // Radians a paddle may stop short of its edge
+    private static final double TOLERANCE = 1e-9;          // Relative, for rounding in speeds and distances
+    private static final double TWEAK_CHANCE = 1.0 / 30;   // Per tick, in cases that press the tuning keys
+    private static final int CENTER = GameSimulation.WORLD_SIZE / 2;
+
+    /** Everything a run depends on. Doubles print exactly, so a printed case replays bit for bit. */
+    static final class Case {
+        long seed; // The match's GameRandom and, inverted, the input stream
+        int ticks;
+        Ruleset ruleset = Ruleset.ENHANCED;
+        GameMode mode = GameMode.TWO_AI;
+        int arenaRadius, paddleLength, paddleWidth, ballDiameter;
+        double paddleSpeed, initialSpeed, speedIncrement, maxSpeed;
+        // Starting state; NaN keeps what the simulation sets up
+        double ballX = Double.NaN, ballY = Double.NaN, ballAngle = Double.NaN, ballSpeed = Double.NaN;
+        double leftAngle = Double.NaN, rightAngle = Double.NaN;
+        boolean humanInput, targets, tweaks;
+
+        void useDefaults() {
+            GameConfig defaults = ruleset.getDefaultConfig();
+            arenaRadius = defaults.getArenaRadius();
+            paddleLength = defaults.getPaddleLength();
+            paddleWidth = defaults.getPaddleWidth();
+            ballDiameter = defaults.getBallDiameter();
+            paddleSpeed = defaults.getPaddleSpeed();
+            initialSpeed = defaults.getInitialBallSpeed();
+            speedIncrement = defaults.getSpeedIncrementOnHit();
+            maxSpeed = defaults.getMaxBallSpeed();
+        }
+
+        GameConfig config() {
+            return new GameConfig(arenaRadius, paddleLength, paddleWidth, ballDiameter, paddleSpeed,
+                    initialSpeed, speedIncrement, maxSpeed, false);
+        }
+
+        /** Whether a properties file could describe this layout, ignoring the physics settings the keys can reach. */
+        boolean hasValidLayout() {
+            return arenaRadius > 0 && arenaRadius < CENTER && paddleLength > 0 && paddleWidth > 0
+                    && ballDiameter > 0 && ballDiameter < arenaRadius && paddleSpeed > 0 && initialSpeed > 0;
+        }
+
+        Case copy() {
+            return parse(toString());
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append("seed=").append(seed).append(",ticks=").append(ticks)
+                    .append(",ruleset=").append(ruleset).append(",mode=").append(mode);
+            GameConfig defaults = ruleset.getDefaultConfig();
+            if (arenaRadius != defaults.getArenaRadius()) out.append(",arena=").append(arenaRadius);
+            if (paddleLength != defaults.getPaddleLength()) out.append(",paddleLength=").append(paddleLength);
+            if (paddleWidth != defaults.getPaddleWidth()) out.append(",paddleWidth=").append(paddleWidth);
+            if (ballDiameter != defaults.getBallDiameter()) out.append(",ballDiameter=").append(ballDiameter);
+            if (paddleSpeed != defaults.getPaddleSpeed()) out.append(",paddleSpeed=").append(paddleSpeed);
+            if (initialSpeed != defaults.getInitialBallSpeed()) out.append(",initialSpeed=").append(initialSpeed);
+            if (speedIncrement != defaults.getSpeedIncrementOnHit()) out.append(",increment=").append(speedIncrement);
+            if (maxSpeed != defaults.getMaxBallSpeed()) out.append(",maxSpeed=").append(maxSpeed);
+            if (!Double.isNaN(ballSpeed)) {
+                out.append(",ballX=").append(ballX).append(",ballY=").append(ballY)
+                        .append(",ballAngle=").append(ballAngle).append(",ballSpeed=").append(ballSpeed);
+            }
+            if (!Double.isNaN(leftAngle)) out.append(",leftAngle=").append(leftAngle);
+            if (!Double.isNaN(rightAngle)) out.append(",rightAngle=").append(rightAngle);
+            if (humanInput) out.append(",input");
+            if (targets) out.append(",targets");
+            if (tweaks) out.append(",tweaks");
+            return out.toString();
+        }
+
+        static Case parse(String text) {
+            Map<String, String> fields = new TreeMap<>();
+            for (String field : text.split(",")) {
+                int equals = field.indexOf('=');
+                if (equals < 0) fields.put(field.trim(), "true");
+                else fields.put(field.substring(0, equals).trim(), field.substring(equals + 1).trim());
+            }
+            Case c = new Case();
+            c.seed = Long.parseLong(fields.getOrDefault("seed", "0"));
+            c.ticks = Integer.parseInt(fields.getOrDefault("ticks", "2000"));
+            c.ruleset = Ruleset.valueOf(fields.getOrDefault("ruleset", "ENHANCED"));
+            c.mode = GameMode.valueOf(fields.getOrDefault("mode", "TWO_AI"));
+            c.useDefaults();
+            if (fields.containsKey("arena")) c.arenaRadius = Integer.parseInt(fields.get("arena"));
+            if (fields.containsKey("paddleLength")) c.paddleLength = Integer.parseInt(fields.get("paddleLength"));
+            if (fields.containsKey("paddleWidth")) c.paddleWidth = Integer.parseInt(fields.get("paddleWidth"));
+            if (fields.containsKey("ballDiameter")) c.ballDiameter = Integer.parseInt(fields.get("ballDiameter"));
+            if (fields.containsKey("paddleSpeed")) c.paddleSpeed = Double.parseDouble(fields.get("paddleSpeed"));
+            if (fields.containsKey("initialSpeed")) c.initialSpeed = Double.parseDouble(fields.get("initialSpeed"));
+            if (fields.containsKey("increment")) c.speedIncrement = Double.parseDouble(fields.get("increment"));
+            if (fields.containsKey("maxSpeed")) c.maxSpeed = Double.parseDouble(fields.get("maxSpeed"));
+            if (fields.containsKey("ballSpeed")) {
+                c.ballX = Double.parseDouble(fields.get("ballX"));
+                c.ballY = Double.parseDouble(fields.get("ballY"));
+                c.ballAngle = Double.parseDouble(fields.get("ballAngle"));
+                c.ballSpeed = Double.parseDouble(fields.get("ballSpeed"));
+            }
+            if (fields.containsKey("leftAngle")) c.leftAngle = Double.parseDouble(fields.get("leftAngle"));
+            if (fields.containsKey("rightAngle")) c.rightAngle = Double.parseDouble(fields.get("rightAngle"));
+            c.humanInput = fields.containsKey("input");
+            c.targets = fields.containsKey("targets");
+            c.tweaks = fields.containsKey("tweaks");
+            return c;
+        }
+    }
+
+    /** The first invariant a case broke. */
+    static final class Failure {
+        final String invariant;
+        final long tick;
+        final String detail;
+
+        Failure(String invariant, long tick, String detail) {
+            this.invariant = invariant;
+            this.tick = tick;
+            this.detail = detail;
+        }
+
+        @Override
+        public String toString() {
+            return invariant + " at tick " + tick + ": " + detail;
+        }
+    }
+
+    /**
+     * Remembers the first paddle hit that leaves the ball moving outward. Such a ball is past the rim again on the
+     * next tick and is hit again, which is how it gets stuck skidding along a paddle.
+     */
+    private static final class RimHits implements GameSimulation.Listener {
+        private final Ball ball;
+        double outward = Double.NaN; // Radial speed after the bad hit
+
+        RimHits(Ball ball) {
+            this.ball = ball;
+        }
+
+        @Override
+        public void onPaddleHit(Paddle paddle, double x, double y) {
+            double dx = x - CENTER, dy = y - CENTER;
+            double radial = ball.getVelX() * dx + ball.getVelY() * dy;
+            double distance = Math.sqrt(dx * dx + dy * dy);
+            if (Double.isNaN(outward) && radial > TOLERANCE * ball.getSpeed() * distance) outward = radial / distance;
+        }
+    }
+
+    static Case generate(long caseSeed, int ticks) {
+        GameRandom r = new GameRandom(caseSeed);
+        Case c = new Case();
+        c.seed = r.nextLong();
+        c.ticks = ticks;
+        c.ruleset = r.nextDouble() < 0.5 ? Ruleset.ENHANCED : Ruleset.CLASSIC;
+        c.mode = GameMode.values()[(int) (r.nextDouble() * GameMode.values().length)];
+        c.useDefaults();
+        if (r.nextDouble() < 0.5) {
+            c.arenaRadius = between(r, 20, CENTER - 10);
+            c.ballDiameter = between(r, 1, Math.min(60, c.arenaRadius - 1));
+            c.paddleLength = between(r, 1, c.arenaRadius * 3); // Up to an arc that wraps the whole rim
+            c.paddleWidth = between(r, 1, 40);
+            c.paddleSpeed = logUniform(r, 0.001, 0.5);
+        }
+        // Collisions are only tested where the ball ends a tick, so a ball crossing more than half the free radius
+        // per tick can jump a paddle or the whole arena; that is beyond what the physics models
+        double fastest = (c.arenaRadius - c.ballDiameter) / 2.0;
+        if (r.nextDouble() < 0.7) {
+            c.initialSpeed = logUniform(r, 0.01, fastest);
+            double pick = r.nextDouble();
+            c.speedIncrement = pick < 0.3 ? 0 : pick < 0.6 ? (r.nextDouble() - 0.5) : -c.initialSpeed * r.nextDouble() * 2;
+            c.maxSpeed = r.nextDouble() < 0.2 ? -r.nextDouble() * 2 : logUniform(r, 0.01, fastest);
+        }
+        if (r.nextDouble() < 0.4) {
+            double pick = r.nextDouble();
+            c.ballSpeed = pick < 0.15 ? 0 : pick < 0.3 ? logUniform(r, 1e-6, 0.01) : logUniform(r, 0.01, fastest);
+            // A ball at rest only moves again if it starts on the rim, where a paddle or a miss picks it up; the
+            // hair past it keeps rounding in the position from leaving it just inside
+            double rim = c.arenaRadius - c.ballDiameter / 2.0;
+            double distance = c.ballSpeed == 0 ? rim * (1 + TOLERANCE) : Math.sqrt(r.nextDouble()) * rim;
+            double place = r.nextDouble() * 2 * Math.PI;
+            c.ballX = CENTER + Math.cos(place) * distance;
+            c.ballY = CENTER + Math.sin(place) * distance;
+            c.ballAngle = r.nextDouble() * 2 * Math.PI;
+        }
+        if (r.nextDouble() < 0.4) {
+            c.leftAngle = startAngle(r, Math.PI);
+            c.rightAngle = startAngle(r, 0);
+        }
+        c.humanInput = r.nextDouble() < 0.8;
+        c.targets = r.nextDouble() < 0.3;
+        c.tweaks = r.nextDouble() < 0.3;
+        return c;
+    }
+
+    /** Somewhere in the half around {@code center}, often exactly on one of its edges. */
+    private static double startAngle(GameRandom r, double center) {
+        double pick = r.nextDouble();
+        double offset = pick < 0.1 ? -Math.PI / 2 : pick < 0.2 ? Math.PI / 2 : (r.nextDouble() - 0.5) * Math.PI;
+        return BallTrajectory.normalizeAngle(center + offset);
+    }
+
+    private static int between(GameRandom r, int min, int max) {
+        return min + (int) (r.nextDouble() * (max - min + 1));
+    }
+
+    private static double logUniform(GameRandom r, double min, double max) {
+        return min * Math.pow(max / min, r.nextDouble());
+    }
+
+    /** Held direction for a human paddle: mostly full presses, sometimes nothing or a partial hold. */
+    private static double nextDirection(GameRandom r) {
+        double pick = r.nextDouble();
+        return pick < 0.35 ? -1 : pick < 0.7 ? 1 : pick < 0.85 ? 0 : r.nextDouble() * 2 - 1;
+    }
+
+    /** One press of a tuning key: {@code ,} {@code .} {@code [} or {@code ]}. */
+    private static GameConfig tweak(GameConfig config, GameRandom r) {
+        switch ((int) (r.nextDouble() * 4)) {
+            case 0: return config.withSpeedIncrementOnHit(config.getSpeedIncrementOnHit() - 0.005);
+            case 1: return config.withSpeedIncrementOnHit(config.getSpeedIncrementOnHit() + 0.005);
+            case 2: return config.withMaxBallSpeed(config.getMaxBallSpeed() - 0.05);
+            default: return config.withMaxBallSpeed(config.getMaxBallSpeed() + 0.05);
+        }
+    }
+
+    /** Plays a case and returns the first broken invariant, or null if it ran to the end. */
+    static Failure run(Case c, boolean trace) {
+        GameConfig config = c.config();
+        GameSimulation simulation = new GameSimulation(c.ruleset, c.mode, config, false, new GameRandom(c.seed));
+        RimHits hits = new RimHits(simulation.getBall());
+        if (c.ruleset.reflectsOffRim()) simulation.addListener(hits); // Classic rules keep the original skid
+        if (!Double.isNaN(c.ballSpeed)) {
+            // Through the ball's snapshot record, the only way to put it in an arbitrary state
+            ByteBuffer state = ByteBuffer.allocate(40).putDouble(c.ballX).putDouble(c.ballY)
+                    .putDouble(Math.cos(c.ballAngle) * c.ballSpeed).putDouble(Math.sin(c.ballAngle) * c.ballSpeed)
+                    .putDouble(c.ballSpeed);
+            simulation.getBall().readState(state.flip());
+        }
+        Paddle left = simulation.getLeftPaddle();
+        Paddle right = simulation.getRightPaddle();
+        if (left != null && !Double.isNaN(c.leftAngle)) left.setAngle(c.leftAngle);
+        if (right != null && !Double.isNaN(c.rightAngle)) right.setAngle(c.rightAngle);
+
+        boolean leftHuman = c.mode == GameMode.HUMAN_VS_AI || c.mode == GameMode.TWO_HUMAN;
+        boolean rightHuman = c.mode == GameMode.TWO_HUMAN;
+        GameRandom input = new GameRandom(~c.seed);
+        double speedBound = Math.max(c.initialSpeed, Double.isNaN(c.ballSpeed) ? 0 : c.ballSpeed);
+        speedBound = Math.max(speedBound, c.maxSpeed);
+        double leftDirection = 0, rightDirection = 0;
+        int leftHold = 0, rightHold = 0;
+
+        for (long tick = 0; tick < c.ticks; tick++) {
+            if (c.tweaks && input.nextDouble() < TWEAK_CHANCE) {
+                config = tweak(config, input);
+                speedBound = Math.max(speedBound, config.getMaxBallSpeed());
+            }
+            double leftTarget = Double.NaN, rightTarget = Double.NaN;
+            if (c.humanInput) {
+                // Directions are held for a while, long enough to push a paddle into its edge
+                if (--leftHold <= 0) {
+                    leftDirection = nextDirection(input);
+                    leftHold = 1 + (int) (input.nextDouble() * 90);
+                }
+                if (--rightHold <= 0) {
+                    rightDirection = nextDirection(input);
+                    rightHold = 1 + (int) (input.nextDouble() * 90);
+                }
+                if (c.targets && input.nextDouble() < 0.1) leftTarget = input.nextDouble() * 2 * Math.PI;
+                if (c.targets && input.nextDouble() < 0.1) rightTarget = input.nextDouble() * 2 * Math.PI;
+            }
+            double leftBefore = left != null ? left.getAngle() : Double.NaN;
+            double rightBefore = right != null ? right.getAngle() : Double.NaN;
+
+            simulation.tick(config, leftDirection, rightDirection, leftTarget, rightTarget);
+
+            Ball ball = simulation.getBall();
+            if (trace) {
+                System.out.printf("%6d ball (%.6f, %.6f) vel (%.6f, %.6f) speed %.6f rim %.6f paddles %.6f %.6f input %.3f %.3f%n",
+                        tick, ball.getX(), ball.getY(), ball.getVelX(), ball.getVelY(), ball.getSpeed(),
+                        c.arenaRadius - ball.getDistanceFromCenter(), left != null ? left.getAngle() : Double.NaN,
+                        right != null ? right.getAngle() : Double.NaN, leftDirection, rightDirection);
+            }
+            Failure failure = checkBall(ball, c, tick, speedBound, hits);
+            if (failure == null && left != null) {
+                failure = checkPaddle("left", left, leftBefore, leftHuman && Double.isNaN(leftTarget) ? leftDirection : 0, tick);
+            }
+            if (failure == null && right != null) {
+                failure = checkPaddle("right", right, rightBefore, rightHuman && Double.isNaN(rightTarget) ? rightDirection : 0, tick);
+            }
+            if (failure != null) return failure;
+        }
+        return null;
+    }
+
+    private static Failure checkBall(Ball ball, Case c, long tick, double speedBound, RimHits hits) {
+        double x = ball.getX(), y = ball.getY(), velX = ball.getVelX(), velY = ball.getVelY(), speed = ball.getSpeed();
+        if (!Double.isFinite(x) || !Double.isFinite(y) || !Double.isFinite(velX) || !Double.isFinite(velY) || !Double.isFinite(speed)) {
+            return new Failure("finite", tick, String.format("ball at (%s, %s) moving (%s, %s) at speed %s", x, y, velX, velY, speed));
+        }
+        // A case may start the ball at rest; it only has to move once something has picked it up
+        boolean resting = speed == 0 && c.ballSpeed == 0 && x == c.ballX && y == c.ballY;
+        if (!(speed > 0) && !resting) {
+            return new Failure("speed", tick, "ball speed is " + speed);
+        }
+        if (speed > speedBound * (1 + TOLERANCE)) {
+            return new Failure("speed", tick, "ball speed " + speed + " is above the fastest serve or cap, " + speedBound);
+        }
+        // Squared lengths: hypot would cost more than the tick being checked
+        double velocitySquared = velX * velX + velY * velY;
+        if (Math.abs(velocitySquared - speed * speed) > 2 * TOLERANCE * Math.max(1, speed * speed)) {
+            return new Failure("speed", tick, "ball moves " + Math.sqrt(velocitySquared) + " per tick but its speed is " + speed);
+        }
+        double dx = x - CENTER, dy = y - CENTER;
+        if (dx * dx + dy * dy > (double) c.arenaRadius * c.arenaRadius * (1 + TOLERANCE)) {
+            return new Failure("inside", tick, "ball is " + (Math.sqrt(dx * dx + dy * dy) - c.arenaRadius) + " outside the rim");
+        }
+        if (!Double.isNaN(hits.outward)) {
+            return new Failure("rim", tick, "a paddle hit sent the ball outward at " + hits.outward + " per tick");
+        }
+        return null;
+    }
+
+    private static Failure checkPaddle(String side, Paddle paddle, double before, double direction, long tick) {
+        double angle = paddle.getAngle();
+        if (!Double.isFinite(angle)) {
+            return new Failure("finite", tick, side + " paddle angle is " + angle);
+        }
+        if (angle < 0 || angle >= 2 * Math.PI) {
+            return new Failure("paddle", tick, side + " paddle angle " + angle + " isn't normalised");
+        }
+        if (!paddle.isAngleInRange(angle)) {
+            return new Failure("paddle", tick, side + " paddle at " + angle + " has left its half");
+        }
+        // A held key that didn't move the paddle must have it pressed against the edge of its half
+        if (direction != 0 && angle == before && paddle.isAngleInRange(angle + Math.signum(direction) * EDGE_TOLERANCE)) {
+            return new Failure("paddle", tick, side + " paddle stopped at " + angle + " short of the edge of its half");
+        }
+        return null;
+    }
+
+    /** Simplifies a failing case for as long as it keeps failing the same way. */
+    static Case shrink(Case failing, Failure failure) {
+        Case best = failing.copy();
+        best.ticks = (int) failure.tick + 1;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (Consumer<Case> step : simplifications(best)) {
+                Case candidate = best.copy();
+                step.accept(candidate);
+                if (!candidate.hasValidLayout()) continue;
+                Failure again = run(candidate, false);
+                if (again == null || !again.invariant.equals(failure.invariant)) continue;
+                candidate.ticks = (int) again.tick + 1;
+                if (isSimpler(candidate, best)) {
+                    best = candidate;
+                    progress = true;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * A shorter description is simpler: defaults aren't printed and rounded numbers are short. At equal length fewer
+     * ticks win. Steps can undo each other, e.g. rounding a setting and putting its default back, so only strictly
+     * simpler cases are kept, which also makes shrinking finish.
+     */
+    private static boolean isSimpler(Case candidate, Case best) {
+        int candidateLength = candidate.toString().length(), bestLength = best.toString().length();
+        return candidateLength < bestLength || candidateLength == bestLength && candidate.ticks < best.ticks;
+    }
+
+    private static List<Consumer<Case>> simplifications(Case c) {
+        GameConfig defaults = c.ruleset.getDefaultConfig();
+        List<Consumer<Case>> steps = new ArrayList<>();
+        steps.add(s -> s.tweaks = false);
+        steps.add(s -> s.targets = false);
+        steps.add(s -> s.humanInput = false);
+        steps.add(s -> { s.ballX = s.ballY = s.ballAngle = s.ballSpeed = Double.NaN; });
+        steps.add(s -> s.leftAngle = Double.NaN);
+        steps.add(s -> s.rightAngle = Double.NaN);
+        for (GameMode mode : GameMode.values()) steps.add(s -> s.mode = mode);
+        steps.add(s -> s.arenaRadius = defaults.getArenaRadius());
+        steps.add(s -> s.paddleLength = defaults.getPaddleLength());
+        steps.add(s -> s.paddleWidth = defaults.getPaddleWidth());
+        steps.add(s -> s.ballDiameter = defaults.getBallDiameter());
+        steps.add(s -> s.paddleSpeed = defaults.getPaddleSpeed());
+        steps.add(s -> s.initialSpeed = defaults.getInitialBallSpeed());
+        steps.add(s -> s.speedIncrement = defaults.getSpeedIncrementOnHit());
+        steps.add(s -> s.maxSpeed = defaults.getMaxBallSpeed());
+        steps.add(s -> s.seed = 0);
+        for (double scale : new double[]{1, 10, 1000}) {
+            steps.add(s -> s.paddleSpeed = round(s.paddleSpeed, scale));
+            steps.add(s -> s.initialSpeed = round(s.initialSpeed, scale));
+            steps.add(s -> s.speedIncrement = round(s.speedIncrement, scale));
+            steps.add(s -> s.maxSpeed = round(s.maxSpeed, scale));
+            steps.add(s -> {
+                s.ballX = round(s.ballX, scale);
+                s.ballY = round(s.ballY, scale);
+                s.ballAngle = round(s.ballAngle, scale);
+                s.ballSpeed = round(s.ballSpeed, scale);
+            });
+            steps.add(s -> s.leftAngle = round(s.leftAngle, scale));
+            steps.add(s -> s.rightAngle = round(s.rightAngle, scale));
+        }
+        return steps;
+    }
+
+    private static double round(double value, double scale) {
+        return Double.isNaN(value) ? value : Math.rint(value * scale) / scale;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long cases = 200_000;
+        long seed = 1;
+        int ticks = 2000;
+        int workers = Runtime.getRuntime().availableProcessors();
+        String replay = null;
+        boolean trace = false;
+        for (String arg : args) {
+            if (arg.startsWith("--cases=")) cases = Long.parseLong(arg.substring("--cases=".length()));
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.startsWith("--ticks=")) ticks = Integer.parseInt(arg.substring("--ticks=".length()));
+            else if (arg.startsWith("--workers=")) workers = Integer.parseInt(arg.substring("--workers=".length()));
+            else if (arg.startsWith("--replay=")) replay = arg.substring("--replay=".length());
+            else if (arg.equals("--trace")) trace = true;
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        if (replay != null) {
+            Failure failure = run(Case.parse(replay), trace);
+            System.out.println(failure == null ? "Passed" : "Failed: " + failure);
+            System.exit(failure == null ? 0 : 1);
+        }
+
+        final long caseCount = cases, baseSeed = seed;
+        final int caseTicks = ticks;
+        AtomicLong nextCase = new AtomicLong();
+        AtomicLong tickTotal = new AtomicLong();
+        // Per invariant: how many cases broke it, and the lowest-numbered one, so the report doesn't depend on timing
+        Map<String, long[]> failureCounts = new TreeMap<>();
+        Map<String, Case> firstFailures = new TreeMap<>();
+        Map<String, Failure> firstDetails = new TreeMap<>();
+        Thread[] threads = new Thread[workers];
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            threads[w] = new Thread(() -> {
+                long index;
+                while ((index = nextCase.getAndIncrement()) < caseCount) {
+                    Case c = generate(baseSeed + index, caseTicks);
+                    Failure failure = run(c, false);
+                    tickTotal.addAndGet(failure == null ? c.ticks : failure.tick + 1);
+                    if (failure == null) continue;
+                    synchronized (failureCounts) {
+                        long[] count = failureCounts.computeIfAbsent(failure.invariant, k -> new long[]{0, Long.MAX_VALUE});
+                        count[0]++;
+                        if (index < count[1]) {
+                            count[1] = index;
+                            firstFailures.put(failure.invariant, c);
+                            firstDetails.put(failure.invariant, failure);
+                        }
+                    }
+                }
+            }, "fuzz-" + w);
+            threads[w].start();
+        }
+        for (Thread thread : threads) thread.join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d cases, %d ticks in %.1f s on %d workers: %.2f million ticks/s%n",
+                caseCount, tickTotal.get(), seconds, workers, tickTotal.get() / seconds / 1e6);
+
+        if (failureCounts.isEmpty()) {
+            System.out.println("All invariants held");
+            return;
+        }
+        for (Map.Entry<String, long[]> entry : failureCounts.entrySet()) {
+            String invariant = entry.getKey();
+            Failure failure = firstDetails.get(invariant);
+            Case shrunk = shrink(firstFailures.get(invariant), failure);
+            System.out.printf("%s failed in %d cases, first in case %d: %s%n", invariant, entry.getValue()[0], entry.getValue()[1], failure);
+            System.out.printf("  shrunk: %s%n  --replay=%s%n", run(shrunk, false), shrunk);
+        }
+        System.exit(1);
+    }
+}
@@ -0,0 +1,58 @@
+package circlepong.desktop;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * A heavyweight canvas the game loop draws into directly through a {@link BufferStrategy}, bypassing
+ * Swing's repaint coalescing and the hop to the event dispatch thread.
+ */
+class ActiveRenderCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+    /** Draws one frame at the given size. */
+    interface Renderer {
+        void render(Graphics2D g2d, int width, int height);
+    }
+
+    private final int bufferCount;
+
+    ActiveRenderCanvas(int bufferCount) {
+        this.bufferCount = bufferCount;
+        setIgnoreRepaint(true); // All drawing happens on the game thread
+        setFocusable(true);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // A buffer strategy can only be created once the canvas has a native peer
+        createBufferStrategy(bufferCount);
+    }
+
+    /**
+     * Renders and shows one frame. Returns false if the canvas is not ready yet (not displayable or zero-sized).
+     */
+    boolean renderFrame(Renderer renderer) {
+        BufferStrategy strategy = getBufferStrategy();
+        int width = getWidth();
+        int height = getHeight();
+        if (strategy == null || width <= 0 || height <= 0) return false;
+
+        // Standard BufferStrategy loop: redraw if the back buffer was lost or restored while drawing
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    renderer.render(g2d, width, height);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Flush the window system's queue so the frame reaches the screen now, not on the next event
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+}
@@ -0,0 +1,291 @@
+package circlepong.desktop;
+
+import circlepong.core.AiController;
+import circlepong.core.Ball;
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Ruleset;
+
+import java.awt.*;
+import java.awt.event.*;
+import javax.swing.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The original CirclePong front-end. Physics, AI and scoring run in the shared {@link GameSimulation} under the
+ * {@link Ruleset#CLASSIC} rules; this class only reads input and draws.
+ */
+public class CirclePong extends JPanel implements KeyListener, Runnable {
+    private static final long serialVersionUID = 1L;
+    private static final int WINDOW_SIZE = GameSimulation.WORLD_SIZE;
+    private static final GameConfig CONFIG = Ruleset.CLASSIC.getDefaultConfig();
+    private static final int CIRCLE_RADIUS = CONFIG.getArenaRadius();
+    private static final int PADDLE_LENGTH = CONFIG.getPaddleLength();
+    private static final int PADDLE_WIDTH = CONFIG.getPaddleWidth();
+    private static final int BALL_SIZE = CONFIG.getBallDiameter();
+    private static final Font SCORE_FONT = new Font("Arial", Font.BOLD, 24);
+    private static final Font MODE_FONT = new Font("Arial", Font.BOLD, 16);
+    private static final Font HELP_FONT = new Font("Arial", Font.BOLD, 14);
+
+    private final Point center = new Point(WINDOW_SIZE / 2, WINDOW_SIZE / 2);
+
+    // The match: player 1 is the simulation's left slot (starting at angle 0), player 2 the right slot
+    private final GameSimulation simulation;
+
+    // Input handling
+    private volatile boolean leftPressed, rightPressed, aPressed, dPressed;
+    private final ConcurrentLinkedQueue<Runnable> pendingActions = new ConcurrentLinkedQueue<>(); // Run by the game loop
+
+    // Game state
+    private boolean gameRunning = true;
+    private AtomicBoolean gameStarted = new AtomicBoolean(false);
+    private volatile Thread gameThread; // Parked while the game isn't started; keys wake it
+
+    // Game modes
+    private enum PlayMode {
+        TWO_PLAYER(GameMode.TWO_HUMAN),
+        SINGLE_PLAYER(GameMode.HUMAN_VS_AI),
+        AUTO_PLAY(GameMode.TWO_AI);
+
+        final GameMode simulationMode;
+
+        PlayMode(GameMode simulationMode) {
+            this.simulationMode = simulationMode;
+        }
+    }
+    private volatile PlayMode currentMode = PlayMode.TWO_PLAYER;
+
+    // AI settings, shared by both AI paddles and kept across resets
+    private double aiReactionTime = Ruleset.CLASSIC.getAiResponsiveness(); // Lower = faster AI
+    private double aiAccuracy = Ruleset.CLASSIC.getAiAccuracy(); // 0.0 to 1.0, higher = more accurate
+
+    public CirclePong() {
+        setPreferredSize(new Dimension(WINDOW_SIZE, WINDOW_SIZE));
+        setBackground(Color.BLACK);
+        setFocusable(true);
+        addKeyListener(this);
+
+        simulation = new GameSimulation(Ruleset.CLASSIC, currentMode.simulationMode, CONFIG, false, new GameRandom());
+    }
+
+    /** Clears the scores and serves a new ball in the given mode. */
+    private void resetGame(PlayMode mode) {
+        currentMode = mode;
+        simulation.setMode(mode.simulationMode, CONFIG);
+        applyAiSettings();
+    }
+
+    private void adjustAiDifficulty(double accuracyChange, double reactionTimeChange) {
+        aiAccuracy = Math.max(0.1, Math.min(1.0, aiAccuracy + accuracyChange));
+        aiReactionTime = Math.max(0.005, Math.min(0.1, aiReactionTime + reactionTimeChange));
+        applyAiSettings();
+    }
+
+    private void applyAiSettings() {
+        for (AiController ai : new AiController[]{simulation.getLeftAi(), simulation.getRightAi()}) {
+            if (ai == null) continue;
+            ai.setAccuracy(aiAccuracy);
+            ai.setResponsiveness(aiReactionTime);
+        }
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Draw circle boundary
+        g2d.setColor(Color.WHITE);
+        g2d.setStroke(new BasicStroke(3));
+        g2d.drawOval(center.x - CIRCLE_RADIUS, center.y - CIRCLE_RADIUS,
+                CIRCLE_RADIUS * 2, CIRCLE_RADIUS * 2);
+
+        // Draw center line (dashed)
+        g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL,
+                0, new float[]{5}, 0));
+        g2d.drawLine(center.x - CIRCLE_RADIUS, center.y, center.x + CIRCLE_RADIUS, center.y);
+
+        // Draw paddles
+        PlayMode mode = currentMode;
+        if (mode == PlayMode.TWO_PLAYER) {
+            drawPaddle(g2d, simulation.getLeftPaddle().getAngle(), Color.CYAN);
+        }
+        drawPaddle(g2d, simulation.getRightPaddle().getAngle(), Color.MAGENTA);
+
+        // Draw ball
+        Ball ball = simulation.getBall();
+        g2d.setColor(Color.WHITE);
+        g2d.fillOval((int)(ball.getX() - BALL_SIZE/2), (int)(ball.getY() - BALL_SIZE/2), BALL_SIZE, BALL_SIZE);
+
+        // Draw scores and mode
+        g2d.setFont(SCORE_FONT);
+        g2d.setColor(Color.WHITE);
+        g2d.drawString("Player 1: " + simulation.getLeftScore(), 20, 30);
+        if (mode == PlayMode.TWO_PLAYER) {
+            g2d.drawString("Player 2: " + simulation.getRightScore(), 20, 60);
+        } else if (mode == PlayMode.SINGLE_PLAYER) {
+            g2d.drawString("AI: " + simulation.getRightScore(), 20, 60);
+        }
+
+        // Draw mode indicator
+        g2d.setFont(MODE_FONT);
+        g2d.setColor(Color.YELLOW);
+        String modeText = "";
+        switch (mode) {
+            case TWO_PLAYER: modeText = "TWO PLAYER"; break;
+            case SINGLE_PLAYER: modeText = "SINGLE PLAYER"; break;
+            case AUTO_PLAY: modeText = "AUTO PLAY"; break;
+        }
+        g2d.drawString("Mode: " + modeText, WINDOW_SIZE - 200, 30);
+
+        // Draw instructions
+        if (!gameStarted.get()) {
+            g2d.setFont(HELP_FONT);
+            g2d.setColor(Color.YELLOW);
+            if (mode == PlayMode.TWO_PLAYER) {
+                g2d.drawString("Player 2: A/D keys", 20, WINDOW_SIZE - 60);
+            }
+            g2d.drawString("SPACE: Start/Pause  R: Reset  M: Change Mode", 20, WINDOW_SIZE - 40);
+            g2d.drawString("1: Two Player  2: Single Player  3: Auto Play", 20, WINDOW_SIZE - 20);
+        }
+    }
+
+    private void drawPaddle(Graphics2D g2d, double angle, Color color) {
+        // Calculate paddle position on circle circumference
+        int paddleX = (int)(center.x + Math.cos(angle) * CIRCLE_RADIUS);
+        int paddleY = (int)(center.y + Math.sin(angle) * CIRCLE_RADIUS);
+
+        // Calculate paddle endpoints
+        double perpAngle = angle + Math.PI / 2;
+        int x1 = (int)(paddleX + Math.cos(perpAngle) * PADDLE_LENGTH / 2);
+        int y1 = (int)(paddleY + Math.sin(perpAngle) * PADDLE_LENGTH / 2);
+        int x2 = (int)(paddleX - Math.cos(perpAngle) * PADDLE_LENGTH / 2);
+        int y2 = (int)(paddleY - Math.sin(perpAngle) * PADDLE_LENGTH / 2);
+
+        g2d.setColor(color);
+        g2d.setStroke(new BasicStroke(PADDLE_WIDTH, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g2d.drawLine(x1, y1, x2, y2);
+    }
+
+    private void updateGame() {
+        Runnable action;
+        while ((action = pendingActions.poll()) != null) {
+            action.run();
+        }
+        if (!gameStarted.get()) return;
+
+        // Player 1 turns with LEFT/RIGHT, player 2 with A/D; the simulation ignores keys for AI paddles
+        int player1Direction = (rightPressed ? 1 : 0) - (leftPressed ? 1 : 0);
+        int player2Direction = (dPressed ? 1 : 0) - (aPressed ? 1 : 0);
+        simulation.tick(CONFIG, player1Direction, player2Direction);
+    }
+
+    @Override
+    public void run() {
+        gameThread = Thread.currentThread();
+        while (gameRunning) {
+            updateGame();
+            repaint();
+
+            if (!gameStarted.get()) {
+                // Nothing moves before SPACE, so wait for a key instead of redrawing the same frame every 16 ms
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                Thread.sleep(16); // ~60 FPS
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT:
+                leftPressed = true;
+                break;
+            case KeyEvent.VK_RIGHT:
+                rightPressed = true;
+                break;
+            case KeyEvent.VK_A:
+                aPressed = true;
+                break;
+            case KeyEvent.VK_D:
+                dPressed = true;
+                break;
+            case KeyEvent.VK_SPACE:
+                gameStarted.set(!gameStarted.get());
+                break;
+            case KeyEvent.VK_R:
+                // Reset game
+                pendingActions.add(() -> resetGame(currentMode));
+                break;
+            case KeyEvent.VK_M:
+                // Cycle through game modes
+                pendingActions.add(() -> resetGame(PlayMode.values()[(currentMode.ordinal() + 1) % PlayMode.values().length]));
+                break;
+            case KeyEvent.VK_1:
+                pendingActions.add(() -> resetGame(PlayMode.TWO_PLAYER));
+                break;
+            case KeyEvent.VK_2:
+                pendingActions.add(() -> resetGame(PlayMode.SINGLE_PLAYER));
+                break;
+            case KeyEvent.VK_3:
+                pendingActions.add(() -> resetGame(PlayMode.AUTO_PLAY));
+                break;
+            case KeyEvent.VK_MINUS:
+                // Decrease AI difficulty
+                pendingActions.add(() -> adjustAiDifficulty(-0.1, 0.01));
+                break;
+            case KeyEvent.VK_EQUALS: // Plus key
+                // Increase AI difficulty
+                pendingActions.add(() -> adjustAiDifficulty(0.1, -0.01));
+                break;
+        }
+        Thread thread = gameThread;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT:
+                leftPressed = false;
+                break;
+            case KeyEvent.VK_RIGHT:
+                rightPressed = false;
+                break;
+            case KeyEvent.VK_A:
+                aPressed = false;
+                break;
+            case KeyEvent.VK_D:
+                dPressed = false;
+                break;
+        }
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {}
+
+    public static void main(String[] args) {
+        JFrame frame = new JFrame("CirclePong");
+        CirclePong game = new CirclePong();
+
+        frame.add(game);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setResizable(false);
+        frame.pack();
+        frame.setLocationRelativeTo(null);
+        frame.setVisible(true);
+
+        Thread gameThread = new Thread(game);
+        gameThread.start();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package circlepong.desktop;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A stand-in controller daemon for testing {@link ControllerInput} without hardware. It streams readings for one
+ * paddle over loopback UDP at a fixed rate: an analog dial sweeping the paddle's half of the arena (absolute
+ * angles), or a stick rocking back and forth (directions). On exit it releases the paddle.
+ *
+ * Usage: java ControllerDriver [--port=9191] [--side=left|right] [--pattern=dial|stick] [--rate=500] [--period=4]
+ *            [--seconds=0 (until killed)]
+ */
+public class ControllerDriver {
+    private ControllerDriver() {}
+
+    public static void main(String[] args) throws IOException {
+        int port = 9191;
+        int side = InputSource.LEFT;
+        boolean dial = true;
+        int rate = 500;
+        double periodSeconds = 4;
+        double seconds = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring("--port=".length()));
+            else if (arg.equals("--side=left")) side = InputSource.LEFT;
+            else if (arg.equals("--side=right")) side = InputSource.RIGHT;
+            else if (arg.equals("--pattern=dial")) dial = true;
+            else if (arg.equals("--pattern=stick")) dial = false;
+            else if (arg.startsWith("--rate=")) rate = Integer.parseInt(arg.substring("--rate=".length()));
+            else if (arg.startsWith("--period=")) periodSeconds = Double.parseDouble(arg.substring("--period=".length()));
+            else if (arg.startsWith("--seconds=")) seconds = Double.parseDouble(arg.substring("--seconds=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        InetSocketAddress game = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        // The left paddle lives on the left half of the arena (around π), the right one around 0
+        double centerAngle = side == InputSource.LEFT ? Math.PI : 0;
+        long intervalNanos = 1_000_000_000L / rate;
+        long start = System.nanoTime();
+        long end = seconds > 0 ? start + (long) (seconds * 1e9) : Long.MAX_VALUE;
+
+        try (DatagramChannel channel = DatagramChannel.open()) {
+            channel.connect(game);
+            ByteBuffer packet = ByteBuffer.allocateDirect(ControllerInput.PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            // Wall-clock microseconds start above anything an earlier run sent, so the game accepts this one at once
+            long sequence = System.currentTimeMillis() * 1000;
+            send(channel, packet, side, ControllerInput.KIND_RELEASE, sequence++, 0); // Clear any state left by an earlier run
+            System.out.printf("Driving the %s paddle on udp/%d: %s at %d Hz%n",
+                    side == InputSource.LEFT ? "left" : "right", port, dial ? "dial" : "stick", rate);
+
+            long next = start;
+            while (next < end) {
+                double phase = 2 * Math.PI * (next - start) / (periodSeconds * 1e9);
+                if (dial) {
+                    // Stay a little inside the half so the paddle's own range check never rejects the target
+                    send(channel, packet, side, ControllerInput.KIND_ANGLE, sequence++, centerAngle + 1.3 * Math.sin(phase));
+                } else {
+                    send(channel, packet, side, ControllerInput.KIND_DIRECTION, sequence++, Math.sin(phase));
+                }
+                next += intervalNanos;
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+            }
+            send(channel, packet, side, ControllerInput.KIND_RELEASE, sequence, 0);
+        }
+    }
+
+    private static void send(DatagramChannel channel, ByteBuffer packet, int side, int kind, long sequence, double value)
+            throws IOException {
+        packet.clear();
+        packet.putInt(ControllerInput.MAGIC).put((byte) ControllerInput.VERSION).put((byte) side).put((byte) kind).put((byte) 0)
+                .putLong(sequence).putDouble(value);
+        packet.flip();
+        try {
+            channel.write(packet);
+        } catch (PortUnreachableException e) {
+            // The game isn't listening yet; keep streaming until it is
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package circlepong.desktop;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Paddle input from an external controller daemon over loopback UDP: gamepads, analog dials mapped to an absolute
+ * paddle angle, scripted bots. One datagram per reading, little-endian, 24 bytes:
+ *
+ *   0  int    magic "CPIN"
+ *   4  byte   version (1)
+ *   5  byte   side: 0 left, 1 right
+ *   6  byte   kind: 0 direction (value -1..+1, held until the next reading), 1 angle (radians, absolute target),
+ *             2 release (hand the paddle back to the keyboard)
+ *   7  byte   unused
+ *   8  long   sequence number per side; older or repeated readings are ignored, releases included, so a driver
+ *             that restarts must count on from above its last run
+ *   16 double value
+ *
+ * Directions are weighted by how long each reading was in force during a tick, like held keys. A side that has sent
+ * nothing for a second is released, so a crashed driver doesn't pin its paddle.
+ */
+final class ControllerInput implements InputSource, Runnable {
+    static final int MAGIC = 0x4E495043; // "CPIN" when read as little-endian bytes
+    static final int VERSION = 1;
+    static final int PACKET_SIZE = 24;
+    static final int KIND_DIRECTION = 0, KIND_ANGLE = 1, KIND_RELEASE = 2;
+    private static final long IDLE_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final DatagramChannel channel;
+    private final int port;
+    private final Side[] sides = {new Side(), new Side()};
+    private final AtomicLong packets = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong(); // Malformed, stale or out of range
+    private long windowStartNanos = System.nanoTime();  // Game thread only
+
+    /** One paddle's controller state. Written by the receiver thread and sampled by the game thread, under its lock. */
+    private static final class Side {
+        long lastSequence = -1;
+        boolean active;           // Holding the paddle: has sent a reading since the last release
+        long lastPacketNanos;
+        double direction;
+        long directionSinceNanos;
+        double directionIntegral; // Direction x nanos since the window started
+        double target = Double.NaN;
+
+        // The last sampled window, read by the game thread only
+        double sampledDirection;
+        double sampledTarget = Double.NaN;
+
+        void release() {
+            active = false;
+            direction = 0;
+            target = Double.NaN;
+        }
+    }
+
+    ControllerInput(int port) throws IOException {
+        channel = DatagramChannel.open();
+        channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
+    }
+
+    void start() {
+        Thread thread = new Thread(this, "controller-input");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Closing only wakes the receiver; nothing to recover
+        }
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    @Override
+    public void run() {
+        ByteBuffer packet = ByteBuffer.allocateDirect(PACKET_SIZE + 1).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            while (true) {
+                packet.clear();
+                channel.receive(packet);
+                long now = System.nanoTime();
+                packet.flip();
+                if (!apply(packet, now)) {
+                    rejected.incrementAndGet();
+                }
+                packets.incrementAndGet();
+            }
+        } catch (ClosedChannelException e) {
+            // Stopped
+        } catch (IOException e) {
+            System.err.println("Controller input on port " + port + " stopped: " + e.getMessage());
+        }
+    }
+
+    private boolean apply(ByteBuffer packet, long now) {
+        if (packet.remaining() != PACKET_SIZE || packet.getInt(0) != MAGIC || packet.get(4) != VERSION) return false;
+        int sideIndex = packet.get(5);
+        int kind = packet.get(6);
+        long sequence = packet.getLong(8);
+        double value = packet.getDouble(16);
+        if (sideIndex != LEFT && sideIndex != RIGHT || !Double.isFinite(value)) return false;
+        if (kind != KIND_DIRECTION && kind != KIND_ANGLE && kind != KIND_RELEASE) return false;
+
+        Side side = sides[sideIndex];
+        synchronized (side) {
+            // A release that arrives late must not hand back a paddle the driver has since taken again
+            if (sequence <= side.lastSequence) return false;
+            side.lastSequence = sequence;
+            if (kind == KIND_RELEASE) {
+                accumulate(side, now);
+                side.release();
+                return true;
+            }
+            side.active = true;
+            side.lastPacketNanos = now;
+            if (kind == KIND_DIRECTION) {
+                accumulate(side, now);
+                side.direction = Math.max(-1, Math.min(1, value));
+            } else {
+                side.target = value;
+            }
+        }
+        return true;
+    }
+
+    /** Adds the current direction's share up to {@code now}. Caller holds the side's lock. */
+    private static void accumulate(Side side, long now) {
+        long from = side.directionSinceNanos;
+        if (now > from) {
+            side.directionIntegral += side.direction * (now - from);
+            side.directionSinceNanos = now;
+        }
+    }
+
+    @Override
+    public void sample(long nowNanos) {
+        long windowNanos = nowNanos - windowStartNanos;
+        windowStartNanos = nowNanos;
+        for (Side side : sides) {
+            synchronized (side) {
+                accumulate(side, nowNanos);
+                side.sampledDirection = windowNanos > 0 ? side.directionIntegral / windowNanos : side.direction;
+                side.directionIntegral = 0;
+                if (side.active && nowNanos - side.lastPacketNanos > IDLE_TIMEOUT_NANOS) {
+                    side.release();
+                    side.lastSequence = -1; // The driver crashed; let its replacement count from zero
+                }
+                side.sampledTarget = side.target;
+            }
+        }
+    }
+
+    @Override
+    public double direction(int side) {
+        return sides[side].sampledDirection;
+    }
+
+    @Override
+    public double targetAngle(int side) {
+        return sides[side].sampledTarget;
+    }
+
+    String summary() {
+        return String.format("Controller on udp/%d: %d packets, %d rejected", port, packets.get(), rejected.get());
+    }
+}
@@ -0,0 +1,830 @@
+package circlepong.desktop;
+
+import circlepong.core.AiController;
+import circlepong.core.Ball;
+import circlepong.core.GameAnalytics;
+import circlepong.core.GameConfig;
+import circlepong.core.GameConfigSource;
+import circlepong.core.GameMode;
+import circlepong.core.GameSimulation;
+import circlepong.core.MatchStatsStore;
+import circlepong.core.Paddle;
+import circlepong.spectator.SpectatorServer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+public class EnhancedCirclePong extends JPanel implements Runnable {
+    private static final long serialVersionUID = 1L;
+
+    // Game Constants
+    private static final int WINDOW_WIDTH = 800;
+    private static final int WINDOW_HEIGHT = 800;
+    private static final int WORLD_SIZE = GameSimulation.WORLD_SIZE; // Scaled to fit the window
+    private static final int RENDER_WARMUP_FRAMES = 10; // Offscreen frames drawn by --warmup before the window shows
+    private static final int INPUT_QUEUE_CAPACITY = 256;  // Key events the EDT can queue ahead of the game thread
+    private static final long IDLE_REDRAW_NANOS = 1_000_000_000L; // How often a parked loop still redraws the active canvas, which gets no expose events
+
+    // HUD fonts beyond the shared ones in MatchRenderer, created once instead of on every paint
+    private static final Font STATS_FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Font PAUSE_FONT = new Font("Segoe UI", Font.BOLD, 50);
+
+    // Tunable settings, see GameConfig and circlepong.properties
+    private final GameConfigSource configSource;
+
+    // Game Components: the match itself plus the effects drawn on top of it
+    private final GameSimulation simulation;
+    private final ParticleSystem particles = new ParticleSystem(WORLD_SIZE, WORLD_SIZE);
+    private final MatchRenderer renderer = new MatchRenderer();
+
+    // Game State
+    private final AtomicBoolean isGameRunning = new AtomicBoolean(false);
+    private final AtomicBoolean isPaused = new AtomicBoolean(false);
+
+    // Idle mode: while paused or iconified the game loop parks instead of redrawing the same frame, and anything
+    // that could change the picture (a key, a resize, the window coming back) wakes it
+    private volatile Thread gameThread;
+    private volatile boolean isIconified = false;
+    private final AtomicBoolean redrawNeeded = new AtomicBoolean(true);
+
+    // Player Input: timestamped key events, turned into held time per tick by the game loop, plus any controllers
+    private final InputQueue input = new InputQueue(INPUT_QUEUE_CAPACITY, System.nanoTime());
+    private final List<InputSource> inputSources = new CopyOnWriteArrayList<>(List.of(new KeyboardInput(input)));
+    private volatile ControllerInput controllerInput;
+    private final ConcurrentLinkedQueue<Runnable> pendingActions = new ConcurrentLinkedQueue<>(); // Key actions that change the match, run by the game loop
+
+    // Render cache: the static arena at device resolution, rebuilt only when its inputs change
+    private Image arenaCache;
+    private int cachedWidth, cachedHeight;
+    private double cachedDeviceScale;
+    private GameConfig cachedLayout;
+    private GameMode cachedMode;
+    private final AffineTransform worldToScreen = new AffineTransform();
+    private int viewWidth, viewHeight; // Size of the surface being drawn, panel or canvas
+
+    // Render path: Swing repaints or BufferStrategy frames pushed by the game loop
+    private volatile RenderPath renderPath = RenderPath.SWING;
+    private volatile ActiveRenderCanvas activeCanvas;
+    private final int bufferCount;
+    private final KeyInputAdapter keyInputAdapter = new KeyInputAdapter();
+    private final FrameStats swingStats = new FrameStats("Swing repaint");
+    private final FrameStats activeStats = new FrameStats("BufferStrategy");
+    private volatile boolean showFrameStats = false;
+
+    // Remote viewers, fed one encoded frame per tick when --spectate is given
+    private volatile SpectatorServer spectatorServer;
+
+    // Rally history and the leaderboard shown in the HUD; null if the stats directory couldn't be opened
+    private volatile MatchStatsStore statsStore;
+
+    // Hit/miss event stream and its rolling histograms, shown in the F3 overlay
+    private volatile GameAnalytics analytics;
+
+    // Run once when the first frame has reached the screen, for --startup-report and --exit-after-first-frame
+    private final AtomicReference<Runnable> firstFrameAction = new AtomicReference<>();
+
+    // F5 saves the match and its sparks here, F9 brings them back
+    private final Path saveFile = Paths.get(System.getProperty("circlepong.save", "circlepong.save"));
+
+    public EnhancedCirclePong(GameConfigSource configSource, RenderPath initialRenderPath, int bufferCount) {
+        this.configSource = configSource;
+        this.bufferCount = bufferCount;
+        simulation = new GameSimulation(GameMode.HUMAN_VS_AI, configSource.current(), false);
+        simulation.addListener(new GameSimulation.Listener() {
+            @Override
+            public void onPaddleHit(Paddle paddle, double x, double y) {
+                particles.spawn(x, y, 20);
+            }
+        });
+        setupWindow();
+        setRenderPath(initialRenderPath);
+        startGameLoop();
+    }
+
+    private void setupWindow() {
+        setPreferredSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
+        setBackground(MatchRenderer.BACKGROUND_COLOR);
+        setFocusable(true);
+        addKeyListener(keyInputAdapter);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                wakeGameLoop();
+            }
+        });
+        setBorder(BorderFactory.createEmptyBorder());
+        setLayout(new BorderLayout()); // Hosts the active-rendering canvas when that path is selected
+    }
+
+    private void togglePlanningAi() {
+        simulation.setPlanningAi(!simulation.isPlanningAi());
+    }
+
+    private void saveGame() {
+        ByteBuffer buffer = ByteBuffer.allocate(GameSimulation.SNAPSHOT_SIZE + particles.stateSize());
+        simulation.writeSnapshot(buffer);
+        particles.writeState(buffer);
+        try {
+            Files.write(saveFile, buffer.array());
+        } catch (IOException e) {
+            System.err.println("Could not save to " + saveFile + ": " + e.getMessage());
+        }
+    }
+
+    private void loadGame() {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(saveFile));
+            simulation.restoreSnapshot(buffer);
+            particles.readState(buffer);
+            // Adopt the saved tuning so the next tick doesn't rebuild the arena around the live one
+            GameConfig saved = simulation.getConfig();
+            configSource.update(c -> saved);
+            isPaused.set(false);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not load " + saveFile + ": " + e.getMessage());
+        }
+    }
+
+    private void startGameLoop() {
+        isGameRunning.set(true);
+        new Thread(this).start();
+    }
+
+    /** Follows the window's state: iconifying parks the game loop, and losing focus pauses a match someone is playing. */
+    private void watchWindow(Window window) {
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowIconified(WindowEvent e) {
+                isIconified = true;
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                isIconified = false;
+                wakeGameLoop();
+            }
+
+            @Override
+            public void windowDeactivated(WindowEvent e) {
+                // An AI match keeps playing in the background, e.g. on a kiosk; a human can't play without focus
+                if (simulation.getMode().hasHumanPlayer()) isPaused.set(true);
+                wakeGameLoop();
+            }
+
+            @Override
+            public void windowActivated(WindowEvent e) {
+                wakeGameLoop();
+            }
+        });
+    }
+
+    /** Lets a parked game loop draw a fresh frame. Safe from any thread. */
+    private void wakeGameLoop() {
+        redrawNeeded.set(true);
+        Thread thread = gameThread;
+        if (thread != null) LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        gameThread = Thread.currentThread();
+        final long frameTime = 1000 / 60; // 60 FPS
+        boolean wasIdle = false;
+        while (isGameRunning.get()) {
+            long startTime = System.currentTimeMillis();
+
+            // The simulation is only touched from this thread, so its event listeners see a single producer
+            Runnable action;
+            while ((action = pendingActions.poll()) != null) {
+                action.run();
+            }
+            long now = System.nanoTime();
+            for (InputSource source : inputSources) {
+                source.sample(now); // Also while paused, so keys held during the pause don't count afterwards
+            }
+            boolean idle = isPaused.get() || isIconified;
+            if (!idle) {
+                if (wasIdle) {
+                    // The parked stretch isn't a frame interval
+                    swingStats.restartPacing();
+                    activeStats.restartPacing();
+                }
+                updateGameState(configSource.current());
+            }
+            if (redrawNeeded.getAndSet(false) || !idle) {
+                if (spectatorServer != null) {
+                    spectatorServer.publish(simulation);
+                }
+                presentFrame();
+            }
+            wasIdle = idle;
+            if (idle) {
+                // Nothing moves, so there is nothing to draw until something wakes the loop
+                LockSupport.parkNanos(this, IDLE_REDRAW_NANOS);
+                if (renderPath == RenderPath.ACTIVE && !isIconified) redrawNeeded.set(true);
+                continue;
+            }
+
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            long sleepTime = frameTime - elapsedTime;
+            if (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void presentFrame() {
+        ActiveRenderCanvas canvas = activeCanvas;
+        if (renderPath != RenderPath.ACTIVE || canvas == null) {
+            repaint();
+            return;
+        }
+        try {
+            if (canvas.renderFrame(this::render)) {
+                activeStats.framePresented(System.nanoTime());
+                runFirstFrameAction();
+            }
+        } catch (IllegalStateException e) {
+            // The canvas lost its peer mid-frame because the render path was just switched
+        }
+    }
+
+    /** Switches between Swing repaints and BufferStrategy rendering. Must be called on the EDT. */
+    private void setRenderPath(RenderPath path) {
+        if (path == RenderPath.ACTIVE) {
+            ActiveRenderCanvas canvas = new ActiveRenderCanvas(bufferCount);
+            canvas.addKeyListener(keyInputAdapter);
+            add(canvas, BorderLayout.CENTER);
+            revalidate();
+            canvas.requestFocusInWindow();
+            activeStats.restartPacing();
+            activeCanvas = canvas;
+        } else {
+            ActiveRenderCanvas canvas = activeCanvas;
+            activeCanvas = null;
+            if (canvas != null) {
+                remove(canvas);
+                revalidate();
+            }
+            requestFocusInWindow();
+            swingStats.restartPacing();
+        }
+        renderPath = path;
+        repaint();
+        wakeGameLoop();
+    }
+
+    private void attachStatsStore(MatchStatsStore store) {
+        simulation.addListener(store.recorderFor(simulation));
+        statsStore = store;
+    }
+
+    private void attachAnalytics(Path exportFile) {
+        try {
+            GameAnalytics attached = GameAnalytics.attach(simulation, exportFile);
+            analytics = attached;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                attached.close();
+                System.out.print(attached.report());
+            }));
+        } catch (IOException e) {
+            System.err.println("Analytics disabled, could not open " + exportFile + ": " + e.getMessage());
+        }
+    }
+
+    private void printFrameStats() {
+        System.out.println(swingStats.summary());
+        System.out.println(activeStats.summary());
+    }
+
+    private void updateGameState(GameConfig config) {
+        // Directions from all sources add up; the first source with an absolute angle steers that paddle instead
+        double leftDirection = 0, rightDirection = 0;
+        double leftTarget = Double.NaN, rightTarget = Double.NaN;
+        for (InputSource source : inputSources) {
+            leftDirection += source.direction(InputSource.LEFT);
+            rightDirection += source.direction(InputSource.RIGHT);
+            if (Double.isNaN(leftTarget)) leftTarget = source.targetAngle(InputSource.LEFT);
+            if (Double.isNaN(rightTarget)) rightTarget = source.targetAngle(InputSource.RIGHT);
+        }
+        simulation.tick(config, Math.max(-1, Math.min(1, leftDirection)), Math.max(-1, Math.min(1, rightDirection)),
+                leftTarget, rightTarget);
+        particles.update();
+    }
+
+    /** Lets a controller steer the human paddles alongside the keyboard. */
+    private void attachController(ControllerInput controller) {
+        controllerInput = controller;
+        inputSources.add(controller);
+    }
+
+    private void resetGame() {
+        isPaused.set(false);
+        simulation.reset(configSource.current());
+    }
+
+    private void changeGameMode(GameMode newMode) {
+        isPaused.set(false);
+        simulation.setMode(newMode, configSource.current());
+    }
+
+    private void adjustAIDifficulty(double responsivenessChange, double accuracyChange) {
+        // Adjust the AI that is currently active
+        GameMode activeGameMode = simulation.getMode();
+        AiController leftAi = simulation.getLeftAi();
+        AiController rightAi = simulation.getRightAi();
+        AiController aiToAdjust = null;
+        if (activeGameMode == GameMode.AI_SOLO || activeGameMode == GameMode.HUMAN_VS_AI) {
+            aiToAdjust = rightAi;
+        } else if (activeGameMode == GameMode.TWO_AI) {
+            aiToAdjust = rightAi; // Adjust both AIs equally
+            leftAi.setAccuracy(Math.max(0.2, Math.min(1.0, leftAi.getAccuracy() + accuracyChange)));
+            leftAi.setResponsiveness(Math.max(0.04, Math.min(0.25, leftAi.getResponsiveness() + responsivenessChange)));
+        }
+
+        if (aiToAdjust != null) {
+            double newAccuracy = Math.max(0.2, Math.min(1.0, aiToAdjust.getAccuracy() + accuracyChange));
+            double newResponsiveness = Math.max(0.04, Math.min(0.25, aiToAdjust.getResponsiveness() + responsivenessChange));
+            aiToAdjust.setAccuracy(newAccuracy);
+            aiToAdjust.setResponsiveness(newResponsiveness);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (activeCanvas != null) return; // The canvas covers the panel and is drawn by the game loop
+
+        // The cached arena covers the whole panel, so there is no background to clear first
+        Graphics2D g2d = (Graphics2D) g.create();
+        try {
+            render(g2d, getWidth(), getHeight());
+        } finally {
+            g2d.dispose();
+        }
+        swingStats.framePresented(System.nanoTime());
+        runFirstFrameAction();
+    }
+
+    private void runFirstFrameAction() {
+        Runnable action = firstFrameAction.getAndSet(null);
+        if (action != null) {
+            // Queued behind the current paint, so a Swing frame has been copied to the screen by the time it runs
+            SwingUtilities.invokeLater(action);
+        }
+    }
+
+    /** Draws frames offscreen so Java2D's loops, the glyph cache and the arena cache are ready before the window shows. */
+    private void warmUpRendering(int frames) {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        Image image = gc != null
+                ? gc.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < frames; i++) {
+            Graphics2D g2d = (Graphics2D) image.getGraphics();
+            try {
+                render(g2d, width, height);
+            } finally {
+                g2d.dispose();
+            }
+        }
+        image.flush();
+    }
+
+    private void render(Graphics2D g2d, int width, int height) {
+        viewWidth = width;
+        viewHeight = height;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+
+        drawGameArena(g2d);
+
+        AffineTransform screenTransform = g2d.getTransform();
+        g2d.transform(worldToScreen);
+        drawGameElements(g2d);
+        g2d.setTransform(screenTransform);
+
+        drawUserInterface(g2d);
+    }
+
+    private void drawGameArena(Graphics2D g2d) {
+        // The screen transform already carries the HiDPI scale; render the cache at that resolution so it blits 1:1
+        AffineTransform screenTransform = g2d.getTransform();
+        double deviceScale = screenTransform.getScaleX();
+        GameConfig currentLayout = simulation.getLayout();
+        GameMode currentMode = simulation.getMode();
+        if (arenaCache == null || cachedWidth != viewWidth || cachedHeight != viewHeight || cachedDeviceScale != deviceScale
+                || cachedLayout != currentLayout || cachedMode != currentMode) {
+            rebuildArenaCache(deviceScale, currentLayout, currentMode);
+        }
+
+        AffineTransform deviceTransform = new AffineTransform(screenTransform);
+        deviceTransform.scale(1 / deviceScale, 1 / deviceScale);
+        g2d.setTransform(deviceTransform);
+        g2d.drawImage(arenaCache, 0, 0, null);
+        g2d.setTransform(screenTransform);
+    }
+
+    private void rebuildArenaCache(double deviceScale, GameConfig currentLayout, GameMode currentMode) {
+        cachedWidth = viewWidth;
+        cachedHeight = viewHeight;
+        cachedDeviceScale = deviceScale;
+        cachedLayout = currentLayout;
+        cachedMode = currentMode;
+
+        // Fit the square world into the panel, centred, preserving aspect ratio
+        double scale = Math.min(cachedWidth, cachedHeight) / (double) WORLD_SIZE;
+        worldToScreen.setToTranslation((cachedWidth - WORLD_SIZE * scale) / 2, (cachedHeight - WORLD_SIZE * scale) / 2);
+        worldToScreen.scale(scale, scale);
+
+        int pixelWidth = Math.max(1, (int) Math.ceil(cachedWidth * deviceScale));
+        int pixelHeight = Math.max(1, (int) Math.ceil(cachedHeight * deviceScale));
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        arenaCache = gc != null
+                ? gc.createCompatibleImage(pixelWidth, pixelHeight, Transparency.OPAQUE)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D cacheGraphics = (Graphics2D) arenaCache.getGraphics();
+        try {
+            cacheGraphics.setColor(MatchRenderer.BACKGROUND_COLOR);
+            cacheGraphics.fillRect(0, 0, pixelWidth, pixelHeight);
+            cacheGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            cacheGraphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            cacheGraphics.scale(deviceScale, deviceScale);
+            cacheGraphics.transform(worldToScreen);
+            renderer.drawArena(cacheGraphics, currentLayout.getArenaRadius(), currentMode);
+        } finally {
+            cacheGraphics.dispose();
+        }
+    }
+
+    private void drawGameElements(Graphics2D g2d) {
+        Ball ball = simulation.getBall();
+        particles.draw(g2d);
+        renderer.drawPaddles(g2d, simulation, System.currentTimeMillis());
+
+        // Use the active AI to draw the ghost ball prediction
+        AiController activeAi = simulation.getRightAi();
+        double prediction = (activeAi != null) ? activeAi.predictBallInterceptAngle(ball) : -1;
+        drawBall(g2d, ball, prediction, configSource.current().isShowGhostBall());
+
+    }
+
+    private void drawBall(Graphics2D g2d, Ball ball, double predictedAngle, boolean showGhostBall) {
+        int size = ball.getSize();
+        // Draw ghost ball showing AI's predicted intercept point
+        if (predictedAngle != -1 && showGhostBall) {
+            int arenaRadius = simulation.getLayout().getArenaRadius();
+            g2d.setColor(new Color(255, 255, 255, 60));
+            double ghostX = WORLD_SIZE / 2 + Math.cos(predictedAngle) * arenaRadius;
+            double ghostY = WORLD_SIZE / 2 + Math.sin(predictedAngle) * arenaRadius;
+            g2d.fill(new Ellipse2D.Double(ghostX - size / 2.0, ghostY - size / 2.0, size, size));
+        }
+
+        // Draw the actual ball
+        renderer.drawBall(g2d, ball);
+    }
+
+    private void drawUserInterface(Graphics2D g2d) {
+        GameConfig config = configSource.current();
+        GameMode activeGameMode = simulation.getMode();
+        AiController leftAi = simulation.getLeftAi();
+        AiController rightAi = simulation.getRightAi();
+        Ball ball = simulation.getBall();
+
+        AiController relevantAi = (rightAi != null) ? rightAi : leftAi;
+
+        // Draw game stats under the scores
+        int statsY = renderer.drawScores(g2d, simulation);
+        if (activeGameMode == GameMode.AI_SOLO) {
+            g2d.drawString(String.format("Ball Speed: %.2f", ball.getSpeed()), 30, statsY);
+            if (statsStore != null) {
+                g2d.drawString(String.format("Best Streak: %d", statsStore.getLeaderboard().getBestRally(activeGameMode)), 30, statsY + 40);
+            }
+        } else if (relevantAi != null) {
+            g2d.drawString(String.format("Ball Speed: %.2f", ball.getSpeed()), 30, statsY);
+        }
+
+        renderer.drawModeLine(g2d, activeGameMode, viewWidth);
+        assert relevantAi != null;
+        g2d.drawString(String.format("AI Responsiveness: %.2f", relevantAi.getResponsiveness()), viewWidth - 220, 55);
+        g2d.drawString(String.format("AI Accuracy: %.2f", relevantAi.getAccuracy()), viewWidth - 220,   70);
+        g2d.drawString(String.format("Max Speed: %.2f", config.getMaxBallSpeed()), viewWidth - 220,   85);
+        g2d.drawString(String.format("Speed Increment: %.3f", config.getSpeedIncrementOnHit()), viewWidth - 220 , 100);
+        g2d.drawString("AI Type: " + (simulation.isPlanningAi() ? "Planner" : "Reactive"), viewWidth - 220, 115);
+        g2d.drawString("Render: " + renderPath.getDisplayName(), viewWidth - 220, 130);
+        if (statsStore != null && activeGameMode != GameMode.AI_SOLO) {
+            g2d.drawString("Best Rally: " + statsStore.getLeaderboard().getBestRally(activeGameMode), viewWidth - 220, 145);
+        }
+
+        if (showFrameStats) {
+            g2d.setFont(STATS_FONT);
+            g2d.setColor(Color.LIGHT_GRAY);
+            g2d.drawString(swingStats.summary(), 10, viewHeight - 30);
+            g2d.drawString(activeStats.summary(), 10, viewHeight - 15);
+            g2d.drawString(input.summary(), 10, viewHeight - 45);
+            int y = viewHeight - 60;
+            if (analytics != null) {
+                g2d.drawString(analytics.summary(), 10, y);
+                y -= 15;
+            }
+            ControllerInput controller = controllerInput;
+            if (controller != null) {
+                g2d.drawString(controller.summary(), 10, y);
+            }
+        }
+
+        if (isPaused.get()) {
+            // Draw pause text
+            g2d.setFont(PAUSE_FONT);
+            g2d.setColor(new Color(255, 255, 255, 200));
+            String pauseText = "PAUSED";
+            FontMetrics metrics = g2d.getFontMetrics();
+            g2d.drawString(pauseText, (viewWidth - metrics.stringWidth(pauseText)) / 2, viewHeight / 2 - 100);
+
+            // Draw controls and settings when paused
+            if (relevantAi != null) {
+                g2d.setFont(MatchRenderer.INFO_FONT);
+                int centerX = viewWidth / 2;
+                int startY = viewHeight / 2;
+
+                g2d.drawString("=== CONTROLS ===", centerX - 100, startY);
+                g2d.drawString("W/S: Move Left Paddle", centerX - 100, startY + 25);
+                g2d.drawString("↑/↓: Move Right Paddle", centerX - 100, startY + 50);
+                g2d.drawString("SPACE: Pause Game", centerX - 100, startY + 75);
+                g2d.drawString("R: Reset Game", centerX - 100, startY + 100);
+                g2d.drawString("1-4: Change Game Mode", centerX - 100, startY + 125);
+
+                g2d.drawString("=== AI SETTINGS ===", centerX - 100, startY + 160);
+                g2d.drawString("-/+: Adjust Difficulty", centerX - 100, startY + 185);
+                g2d.drawString("[/]: Adjust Max Speed", centerX - 100, startY + 210);
+                g2d.drawString(",/.: Adjust Increment", centerX - 100, startY + 235);
+                g2d.drawString("P: Toggle Planning AI", centerX - 100, startY + 260);
+                g2d.drawString("F2/F3: Render Path / Frame Stats", centerX - 100, startY + 285);
+                g2d.drawString("F5/F9: Save / Load Game", centerX - 100, startY + 310);
+            }
+        }
+    }
+
+    private class KeyInputAdapter extends KeyAdapter {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            long now = System.nanoTime();
+            (renderPath == RenderPath.ACTIVE ? activeStats : swingStats).markInput(now);
+            input.offer(e.getKeyCode(), true, now);
+            switch (e.getKeyCode()) {
+                case KeyEvent.VK_SPACE:
+                    isPaused.set(!isPaused.get());
+                    break;
+                case KeyEvent.VK_R:
+                    pendingActions.add(() -> resetGame());
+                    break;
+                case KeyEvent.VK_1:
+                    pendingActions.add(() -> changeGameMode(GameMode.HUMAN_VS_AI));
+                    break;
+                case KeyEvent.VK_2:
+                    pendingActions.add(() -> changeGameMode(GameMode.TWO_HUMAN));
+                    break;
+                case KeyEvent.VK_3:
+                    pendingActions.add(() -> changeGameMode(GameMode.TWO_AI));
+                    break;
+                case KeyEvent.VK_4:
+                    pendingActions.add(() -> changeGameMode(GameMode.AI_SOLO));
+                    break;
+                case KeyEvent.VK_MINUS:
+                    pendingActions.add(() -> adjustAIDifficulty(-0.01, -0.05)); // Decrease responsiveness and accuracy
+                    break;
+                case KeyEvent.VK_EQUALS:
+                case KeyEvent.VK_PLUS:
+                    pendingActions.add(() -> adjustAIDifficulty(0.01, 0.05)); // Increase responsiveness and accuracy
+                    break;
+                // Live tweaks replace the whole snapshot; the next file reload takes precedence again
+                case KeyEvent.VK_OPEN_BRACKET:
+                    configSource.update(c -> c.withMaxBallSpeed(c.getMaxBallSpeed() - 0.05));
+                    break;
+                case KeyEvent.VK_CLOSE_BRACKET:
+                    configSource.update(c -> c.withMaxBallSpeed(c.getMaxBallSpeed() + 0.05));
+                    break;
+                case KeyEvent.VK_COMMA:
+                    configSource.update(c -> c.withSpeedIncrementOnHit(c.getSpeedIncrementOnHit() - 0.005));
+                    break;
+                case KeyEvent.VK_PERIOD:
+                    configSource.update(c -> c.withSpeedIncrementOnHit(c.getSpeedIncrementOnHit() + 0.005));
+                    break;
+                case KeyEvent.VK_H:
+                    configSource.update(c -> c.withShowGhostBall(!c.isShowGhostBall()));
+                    break;
+                case KeyEvent.VK_P:
+                    pendingActions.add(() -> togglePlanningAi());
+                    break;
+                case KeyEvent.VK_F5:
+                    pendingActions.add(() -> saveGame());
+                    break;
+                case KeyEvent.VK_F9:
+                    pendingActions.add(() -> loadGame());
+                    break;
+                case KeyEvent.VK_F2:
+                    setRenderPath(renderPath == RenderPath.ACTIVE ? RenderPath.SWING : RenderPath.ACTIVE);
+                    break;
+                case KeyEvent.VK_F3:
+                    showFrameStats = !showFrameStats;
+                    break;
+            }
+            wakeGameLoop(); // Any key may change what a paused screen shows
+        }
+
+        @Override
+        public void keyReleased(KeyEvent e) {
+            input.offer(e.getKeyCode(), false, System.nanoTime());
+        }
+    }
+
+    /**
+     * Options:
+     *   --render=swing|active   start on Swing repaints (default) or BufferStrategy active rendering
+     *   --buffers=2|3           back buffers for active rendering (default 2)
+     *   --pipeline=opengl|xrender  opt into a Java2D hardware pipeline
+     *   --compare=SECONDS       alternate render paths every SECONDS and print frame stats on exit
+     *   --spectate=PORT         stream every tick to WebSocket viewers on PORT, on this machine only
+     *   --spectate-bind=ADDRESS  listen for viewers on ADDRESS instead of loopback, e.g. 0.0.0.0 for every interface
+     *   --export-events=FILE    write every hit, miss and reset to FILE (CSV if it ends in .csv, columnar otherwise)
+     *   --controller=PORT       accept paddle input from a controller daemon on loopback udp/PORT, see ControllerInput
+     *   --warmup=TICKS          before the window opens, run TICKS throwaway ticks per ruleset, mode and AI and draw
+     *                           a few frames offscreen
+     *   --startup-report        print the time to the first frame on screen
+     *   --exit-after-first-frame  print the time to the first frame and exit (startup benchmarks, AppCDS training)
+     */
+    public static void main(String[] args) {
+        long mainStartNanos = System.nanoTime();
+        RenderPath renderPath = RenderPath.SWING;
+        int bufferCount = 2;
+        int compareSeconds = 0;
+        int spectatePort = 0;
+        String spectateBind = null;
+        Path exportFile = null;
+        int warmupTicks = 0;
+        int controllerPort = 0;
+        boolean startupReport = false;
+        boolean exitAfterFirstFrame = false;
+        for (String arg : args) {
+            if (arg.startsWith("--render=")) {
+                renderPath = RenderPath.valueOf(arg.substring("--render=".length()).toUpperCase());
+            } else if (arg.startsWith("--buffers=")) {
+                bufferCount = Math.max(2, Math.min(3, Integer.parseInt(arg.substring("--buffers=".length()))));
+            } else if (arg.startsWith("--pipeline=")) {
+                // Must be set before the first AWT class initialises Java2D
+                String pipeline = arg.substring("--pipeline=".length());
+                if (pipeline.equals("opengl")) System.setProperty("sun.java2d.opengl", "true");
+                else if (pipeline.equals("xrender")) System.setProperty("sun.java2d.xrender", "true");
+                else throw new IllegalArgumentException("Unknown pipeline: " + pipeline);
+            } else if (arg.startsWith("--compare=")) {
+                compareSeconds = Integer.parseInt(arg.substring("--compare=".length()));
+            } else if (arg.startsWith("--spectate=")) {
+                spectatePort = Integer.parseInt(arg.substring("--spectate=".length()));
+            } else if (arg.startsWith("--spectate-bind=")) {
+                spectateBind = arg.substring("--spectate-bind=".length());
+            } else if (arg.startsWith("--export-events=")) {
+                exportFile = Paths.get(arg.substring("--export-events=".length()));
+            } else if (arg.startsWith("--controller=")) {
+                controllerPort = Integer.parseInt(arg.substring("--controller=".length()));
+            } else if (arg.startsWith("--warmup=")) {
+                warmupTicks = Integer.parseInt(arg.substring("--warmup=".length()));
+            } else if (arg.equals("--startup-report")) {
+                startupReport = true;
+            } else if (arg.equals("--exit-after-first-frame")) {
+                startupReport = true;
+                exitAfterFirstFrame = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        GameConfigSource configSource = GameConfigSource.load(Paths.get(System.getProperty("circlepong.config", "circlepong.properties")));
+        configSource.startWatching();
+        if (warmupTicks > 0) {
+            StartupWarmup.warmUpPhysics(configSource.current(), warmupTicks);
+        }
+
+        final RenderPath initialRenderPath = renderPath;
+        final int buffers = bufferCount;
+        final int compareMillis = compareSeconds * 1000;
+        final SpectatorServer spectatorServer = spectatePort > 0 ? openSpectatorServer(spectateBind, spectatePort) : null;
+        final Path eventExportFile = exportFile;
+        final ControllerInput controller = controllerPort > 0 ? openControllerInput(controllerPort) : null;
+        final MatchStatsStore statsStore = openStatsStore(Paths.get(System.getProperty("circlepong.stats", "stats")));
+        final boolean warmUpRendering = warmupTicks > 0;
+        final boolean reportStartup = startupReport;
+        final boolean exitOnFirstFrame = exitAfterFirstFrame;
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Enhanced Circle Pong");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setResizable(true);
+            EnhancedCirclePong game = new EnhancedCirclePong(configSource, initialRenderPath, buffers);
+            game.spectatorServer = spectatorServer;
+            if (statsStore != null) game.attachStatsStore(statsStore);
+            game.attachAnalytics(eventExportFile);
+            if (controller != null) game.attachController(controller);
+            frame.add(game, BorderLayout.CENTER);
+            game.watchWindow(frame);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            if (warmUpRendering) {
+                game.warmUpRendering(RENDER_WARMUP_FRAMES);
+            }
+            if (reportStartup) {
+                game.firstFrameAction.set(() -> reportFirstFrame(mainStartNanos, exitOnFirstFrame));
+            }
+            frame.setVisible(true);
+
+            if (compareMillis > 0) {
+                game.showFrameStats = true;
+                new Timer(compareMillis, e -> game.setRenderPath(
+                        game.renderPath == RenderPath.ACTIVE ? RenderPath.SWING : RenderPath.ACTIVE)).start();
+                Runtime.getRuntime().addShutdownHook(new Thread(game::printFrameStats));
+            }
+        });
+    }
+
+    private static void reportFirstFrame(long mainStartNanos, boolean exit) {
+        long sinceMainMillis = (System.nanoTime() - mainStartNanos) / 1_000_000;
+        // The process start time comes from the OS and may only be accurate to a scheduler tick
+        String sinceLaunch = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis() + " ms after launch, ")
+                .orElse("");
+        System.out.println("First frame " + sinceLaunch + sinceMainMillis + " ms after main");
+        if (exit) {
+            System.exit(0);
+        }
+    }
+
+    private static MatchStatsStore openStatsStore(Path directory) {
+        try {
+            MatchStatsStore store = MatchStatsStore.open(directory);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close rally stats: " + e.getMessage());
+                }
+            }));
+            return store;
+        } catch (IOException e) {
+            System.err.println("Rally stats disabled, could not open " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static ControllerInput openControllerInput(int port) {
+        try {
+            ControllerInput controller = new ControllerInput(port);
+            controller.start();
+            System.out.println("Controllers can send to udp://127.0.0.1:" + controller.getPort());
+            return controller;
+        } catch (IOException e) {
+            System.err.println("Could not open controller port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static SpectatorServer openSpectatorServer(String bindAddress, int port) {
+        try {
+            SpectatorServer server = bindAddress != null
+                    ? new SpectatorServer(InetAddress.getByName(bindAddress), port)
+                    : new SpectatorServer(port);
+            server.start();
+            System.out.println("Spectators can connect to ws://" + (bindAddress != null ? bindAddress : "localhost") + ":" + port + "/");
+            return server;
+        } catch (IOException e) {
+            System.err.println("Could not open spectator port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
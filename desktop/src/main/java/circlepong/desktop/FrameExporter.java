@@ -0,0 +1,306 @@
+package circlepong.desktop;
+
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Ruleset;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders a match to video frames without a window, for clips on dashboards. The match is re-simulated from its
+ * seed on one thread, which only writes a {@link GameSimulation#writeSnapshot snapshot} per frame. Render workers on
+ * the other cores restore each snapshot into their own copy of the match, draw it into a pooled image and encode it.
+ * A writer thread puts the frames back in order and streams them out, so simulation, drawing and output overlap and
+ * the export is limited by the cores rather than the tick rate.
+ *
+ * PNG frames go to numbered files in a directory, or back to back to stdout for {@code ffmpeg -f image2pipe}. Raw RGB
+ * is 3 bytes per pixel, row by row, for {@code ffmpeg -f rawvideo -pix_fmt rgb24 -s 800x800 -r 60 -i -}. The view is
+ * the Enhanced Circle Pong arena, paddles, ball and scores; particles and the ghost ball are left out.
+ *
+ * Usage: java FrameExporter [--mode=two_ai|ai_solo] [--classic] [--planner] [--seed=1] [--seconds=30] [--fps=60]
+ *            [--size=800] [--format=png|rgb] [--out=frames (a directory for png, a file for rgb, - for stdout)]
+ *            [--workers=N]
+ */
+public class FrameExporter {
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int WORLD_SIZE = GameSimulation.WORLD_SIZE;
+    private static final int FRAMES_PER_WORKER = 4; // Frames in flight per worker: enough to cover uneven encode times
+
+    enum Format { PNG, RGB }
+
+    /** One frame in flight, with everything it needs pooled: the state to draw, the image and the encoded bytes. */
+    private static final class Frame {
+        final ByteBuffer snapshot = ByteBuffer.allocate(GameSimulation.SNAPSHOT_SIZE);
+        final BufferedImage image;
+        final EncodedBytes png = new EncodedBytes();
+        final byte[] rgb;
+        int index;
+
+        Frame(int size, Format format) {
+            image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+            rgb = format == Format.RGB ? new byte[size * size * 3] : null;
+        }
+    }
+
+    /** An encoded PNG, handed to the sink without copying it out first. */
+    private static final class EncodedBytes extends ByteArrayOutputStream {
+        byte[] bytes() { return buf; }
+    }
+
+    private static final Frame END = new Frame(1, Format.PNG); // Tells a worker there are no more frames
+
+    private final GameSimulation simulation;
+    private final GameConfig config;
+    private final int ticksPerFrame;
+    private final int size;
+    private final Format format;
+    private final BlockingQueue<Frame> free;   // Frames nobody is using
+    private final BlockingQueue<Frame> queued; // Snapshots waiting for a worker
+    private final Frame[] finished;            // Drawn frames waiting for their turn, by index modulo the window
+    private volatile Throwable failure;
+
+    FrameExporter(GameSimulation simulation, GameConfig config, int ticksPerFrame, int size, Format format, int workers) {
+        this.simulation = simulation;
+        this.config = config;
+        this.ticksPerFrame = ticksPerFrame;
+        this.size = size;
+        this.format = format;
+        int window = workers * FRAMES_PER_WORKER;
+        free = new ArrayBlockingQueue<>(window);
+        queued = new ArrayBlockingQueue<>(window + workers);
+        finished = new Frame[window];
+        for (int i = 0; i < window; i++) free.add(new Frame(size, format));
+    }
+
+    /** Simulates and exports {@code frames} frames, and returns once the last one is written. */
+    void export(int frames, int workers, FrameSink sink) throws IOException, InterruptedException {
+        Thread[] renderers = new Thread[workers];
+        for (int i = 0; i < workers; i++) {
+            renderers[i] = new Thread(this::renderFrames, "frame-render-" + i);
+            renderers[i].setDaemon(true);
+            renderers[i].start();
+        }
+        Thread writer = new Thread(() -> writeFrames(frames, sink), "frame-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        for (int index = 0; index < frames && failure == null; index++) {
+            Frame frame = null;
+            while (frame == null && failure == null) frame = free.poll(100, TimeUnit.MILLISECONDS);
+            if (frame == null) break;
+            for (int t = 0; t < ticksPerFrame; t++) simulation.tick(config, 0, 0);
+            frame.index = index;
+            frame.snapshot.clear();
+            simulation.writeSnapshot(frame.snapshot);
+            queued.put(frame);
+        }
+        for (int i = 0; i < workers; i++) queued.put(END);
+        writer.join();
+        if (failure != null) throw new IOException("Export failed", failure);
+    }
+
+    /** Render worker: draws and encodes frames until it is handed {@link #END}. */
+    private void renderFrames() {
+        FramePainter painter = new FramePainter(size);
+        try {
+            while (true) {
+                Frame frame = queued.take();
+                if (frame == END) return;
+                frame.snapshot.flip();
+                painter.paint(frame);
+                if (format == Format.PNG) {
+                    frame.png.reset();
+                    ImageIO.write(frame.image, "png", frame.png);
+                } else {
+                    toRgb(((DataBufferInt) frame.image.getRaster().getDataBuffer()).getData(), frame.rgb);
+                }
+                synchronized (finished) {
+                    finished[frame.index % finished.length] = frame;
+                    finished.notifyAll();
+                }
+            }
+        } catch (Throwable e) {
+            failure = e;
+            synchronized (finished) {
+                finished.notifyAll();
+            }
+        }
+    }
+
+    /** Writer: takes frames in index order and hands each one back to the pool once it's out. */
+    private void writeFrames(int frames, FrameSink sink) {
+        try {
+            for (int index = 0; index < frames; index++) {
+                Frame frame;
+                int slot = index % finished.length;
+                synchronized (finished) {
+                    while ((frame = finished[slot]) == null) {
+                        if (failure != null) return;
+                        finished.wait();
+                    }
+                    finished[slot] = null;
+                }
+                if (format == Format.PNG) sink.write(index, frame.png.bytes(), frame.png.size());
+                else sink.write(index, frame.rgb, frame.rgb.length);
+                free.add(frame);
+            }
+            sink.close();
+        } catch (Throwable e) {
+            failure = e;
+        }
+    }
+
+    private static void toRgb(int[] pixels, byte[] rgb) {
+        for (int i = 0, j = 0; i < pixels.length; i++) {
+            int pixel = pixels[i];
+            rgb[j++] = (byte) (pixel >> 16);
+            rgb[j++] = (byte) (pixel >> 8);
+            rgb[j++] = (byte) pixel;
+        }
+    }
+
+    /** Where encoded frames go, in order. Called from the writer thread only. */
+    interface FrameSink {
+        void write(int index, byte[] bytes, int length) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    /** One stream, frames back to back. */
+    private static FrameSink streamSink(OutputStream stream) {
+        OutputStream out = new BufferedOutputStream(stream, 1 << 20);
+        return new FrameSink() {
+            @Override
+            public void write(int index, byte[] bytes, int length) throws IOException {
+                out.write(bytes, 0, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+
+    /** Numbered PNG files in a directory. */
+    private static FrameSink directorySink(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new FrameSink() {
+            @Override
+            public void write(int index, byte[] bytes, int length) throws IOException {
+                try (OutputStream out = Files.newOutputStream(directory.resolve(String.format("frame-%06d.png", index)))) {
+                    out.write(bytes, 0, length);
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /** Draws a frame from its snapshot. Each worker has its own, since the match copy and paddle sprites are reused. */
+    private static final class FramePainter {
+        private final int size;
+        private final GameSimulation match = new GameSimulation(GameMode.TWO_AI, GameConfig.DEFAULTS, false, new GameRandom(0));
+        private final MatchRenderer renderer = new MatchRenderer();
+
+        FramePainter(int size) {
+            this.size = size;
+        }
+
+        void paint(Frame frame) {
+            match.restoreSnapshot(frame.snapshot);
+            Graphics2D g2d = frame.image.createGraphics();
+            try {
+                g2d.setColor(MatchRenderer.BACKGROUND_COLOR);
+                g2d.fillRect(0, 0, size, size);
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+                Graphics2D world = (Graphics2D) g2d.create();
+                try {
+                    world.scale(size / (double) WORLD_SIZE, size / (double) WORLD_SIZE);
+                    renderer.drawArena(world, match.getLayout().getArenaRadius(), match.getMode());
+                    renderer.drawPaddles(world, match, match.getTickCount() * 1000 / TICKS_PER_SECOND);
+                    renderer.drawBall(world, match.getBall());
+                } finally {
+                    world.dispose();
+                }
+                renderer.drawScores(g2d, match);
+                renderer.drawModeLine(g2d, match.getMode(), size);
+            } finally {
+                g2d.dispose();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        GameMode mode = GameMode.TWO_AI;
+        Ruleset ruleset = Ruleset.ENHANCED;
+        boolean planner = false;
+        long seed = 1;
+        double seconds = 30;
+        int fps = TICKS_PER_SECOND;
+        int size = WORLD_SIZE;
+        Format format = Format.PNG;
+        String out = "frames";
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1); // One core for the simulation and writer
+        for (String arg : args) {
+            if (arg.startsWith("--mode=")) mode = GameMode.valueOf(arg.substring("--mode=".length()).toUpperCase());
+            else if (arg.equals("--classic")) ruleset = Ruleset.CLASSIC;
+            else if (arg.equals("--planner")) planner = true;
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.startsWith("--seconds=")) seconds = Double.parseDouble(arg.substring("--seconds=".length()));
+            else if (arg.startsWith("--fps=")) fps = Integer.parseInt(arg.substring("--fps=".length()));
+            else if (arg.startsWith("--size=")) size = Integer.parseInt(arg.substring("--size=".length()));
+            else if (arg.startsWith("--format=")) format = Format.valueOf(arg.substring("--format=".length()).toUpperCase());
+            else if (arg.startsWith("--out=")) out = arg.substring("--out=".length());
+            else if (arg.startsWith("--workers=")) workers = Integer.parseInt(arg.substring("--workers=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+        if (mode == GameMode.HUMAN_VS_AI || mode == GameMode.TWO_HUMAN) {
+            throw new IllegalArgumentException("Exported matches are played by the AI: use two_ai or ai_solo");
+        }
+        if (fps <= 0 || TICKS_PER_SECOND % fps != 0) {
+            throw new IllegalArgumentException("--fps must divide the tick rate of " + TICKS_PER_SECOND);
+        }
+        System.setProperty("java.awt.headless", "true");
+        ImageIO.setUseCache(false); // Encode straight to memory instead of through a temporary file
+
+        FrameSink sink;
+        if (out.equals("-")) sink = streamSink(new FileOutputStream(FileDescriptor.out));
+        else if (format == Format.PNG) sink = directorySink(Paths.get(out));
+        else sink = streamSink(Files.newOutputStream(Paths.get(out)));
+
+        GameConfig config = ruleset.getDefaultConfig();
+        GameSimulation simulation = new GameSimulation(ruleset, mode, config, planner, new GameRandom(seed));
+        int frames = (int) Math.round(seconds * fps);
+        FrameExporter exporter = new FrameExporter(simulation, config, TICKS_PER_SECOND / fps, size, format, workers);
+        long start = System.nanoTime();
+        exporter.export(frames, workers, sink);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        // stdout may be the video pipe, so the report goes to stderr
+        System.err.printf("Exported %d %dx%d %s frames (%.1f s of play) in %.2f s on %d workers: %.0f frames/s, %.1fx real time%n",
+                frames, size, size, format, frames / (double) fps, elapsed, workers, frames / elapsed, frames / (double) fps / elapsed);
+    }
+}
@@ -0,0 +1,81 @@
+package circlepong.desktop;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame pacing and input-to-photon latency for one render path, kept in fixed-size histograms so
+ * recording a frame never allocates.
+ */
+final class FrameStats {
+    private static final long BUCKET_NANOS = 250_000;  // 0.25 ms resolution
+    static final int BUCKET_COUNT = 400;               // Up to 100 ms; anything slower lands in the last bucket
+
+    private final String name;
+    private final long[] intervalBuckets = new long[BUCKET_COUNT];
+    private final long[] latencyBuckets = new long[BUCKET_COUNT];
+    private long frames;
+    private long lastFrameNanos;
+    private double intervalSum, intervalSquareSum;
+    private long latencySamples;
+
+    // Earliest input not yet on screen; written by the input thread, consumed by the render thread
+    private final AtomicLong pendingInputNanos = new AtomicLong(0);
+
+    FrameStats(String name) {
+        this.name = name;
+    }
+
+    /** Called when an input event arrives; only the oldest unseen input is kept. */
+    void markInput(long eventNanos) {
+        pendingInputNanos.compareAndSet(0, eventNanos);
+    }
+
+    /** Called on the rendering thread once a frame has been handed to the display. */
+    synchronized void framePresented(long nowNanos) {
+        if (lastFrameNanos != 0) {
+            long interval = nowNanos - lastFrameNanos;
+            intervalBuckets[bucket(interval)]++;
+            intervalSum += interval;
+            intervalSquareSum += (double) interval * interval;
+            frames++;
+        }
+        lastFrameNanos = nowNanos;
+
+        long input = pendingInputNanos.getAndSet(0);
+        if (input != 0) {
+            latencyBuckets[bucket(nowNanos - input)]++;
+            latencySamples++;
+        }
+    }
+
+    /** Forgets the previous frame time, e.g. after this path was idle, so the gap isn't counted as a stall. */
+    synchronized void restartPacing() {
+        lastFrameNanos = 0;
+        pendingInputNanos.set(0);
+    }
+
+    synchronized String summary() {
+        if (frames == 0) return name + ": no frames";
+        double meanMs = intervalSum / frames / 1e6;
+        double varianceMs = Math.max(0, intervalSquareSum / frames / 1e12 - meanMs * meanMs);
+        String pacing = String.format("%s: %d frames, interval mean %.2f ms, jitter %.2f ms, p99 %.2f ms",
+                name, frames, meanMs, Math.sqrt(varianceMs), percentileMs(intervalBuckets, frames, 0.99));
+        if (latencySamples == 0) return pacing + ", no input samples";
+        return pacing + String.format(", input-to-photon p50 %.2f ms, p99 %.2f ms (%d samples)",
+                percentileMs(latencyBuckets, latencySamples, 0.50), percentileMs(latencyBuckets, latencySamples, 0.99), latencySamples);
+    }
+
+    static int bucket(long nanos) {
+        return (int) Math.min(BUCKET_COUNT - 1, Math.max(0, nanos / BUCKET_NANOS));
+    }
+
+    static double percentileMs(long[] buckets, long total, double percentile) {
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) return (i + 1) * BUCKET_NANOS / 1e6;
+        }
+        return BUCKET_COUNT * BUCKET_NANOS / 1e6;
+    }
+}
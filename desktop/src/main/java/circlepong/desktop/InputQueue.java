@@ -0,0 +1,133 @@
+package circlepong.desktop;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Carries key presses and releases from the EDT to the game thread. Each event is stamped with {@code nanoTime}
+ * when the listener sees it and goes through a single-producer, single-consumer ring of primitive columns, so
+ * nothing is lost or seen late. Once per tick the game thread drains the ring and works out how much of the tick
+ * each key was held. A tap that starts and ends between two ticks still counts for the time it was down.
+ */
+final class InputQueue {
+    private static final int KEY_COUNT = 256; // Key codes at or above this are not tracked
+
+    // Event columns, indexed by slot; written by the producer before the tail is published
+    private final int[] keyCodes;
+    private final boolean[] pressed;
+    private final long[] eventNanos;
+    private final int mask;
+
+    // Input arrives at human rates, so the two counters share a cache line without costing anything measurable
+    private final AtomicLong head = new AtomicLong(); // Next slot to read; advanced by the consumer
+    private final AtomicLong tail = new AtomicLong(); // Next slot to write; advanced by the producer
+    private long cachedHead;                          // Producer-only: head when last checked
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    // Consumer-only key state for the current sampling window
+    private final boolean[] down = new boolean[KEY_COUNT];
+    private final long[] downSinceNanos = new long[KEY_COUNT]; // Start of the held stretch inside the window
+    private final long[] heldNanos = new long[KEY_COUNT];      // Held time in the last completed window
+    private long windowStartNanos;
+    private long windowNanos;
+
+    // Event-to-tick latency: from the listener's timestamp until a tick has applied the event. Only the game thread
+    // writes the counts; each is published with a release store, so summary() can read them without taking a lock.
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(FrameStats.BUCKET_COUNT);
+
+    InputQueue(int capacity, long startNanos) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two");
+        mask = capacity - 1;
+        keyCodes = new int[capacity];
+        pressed = new boolean[capacity];
+        eventNanos = new long[capacity];
+        windowStartNanos = startNanos;
+    }
+
+    /** Queues a key event. Producer (EDT) only. Drops and counts the event if the game thread is a whole ring behind. */
+    boolean offer(int keyCode, boolean isPress, long nanos) {
+        if (keyCode < 0 || keyCode >= KEY_COUNT) return false;
+        long sequence = tail.getPlain();
+        if (sequence - cachedHead > mask) {
+            cachedHead = head.getAcquire();
+            if (sequence - cachedHead > mask) {
+                droppedEvents.incrementAndGet();
+                return false;
+            }
+        }
+        int slot = (int) (sequence & mask);
+        keyCodes[slot] = keyCode;
+        pressed[slot] = isPress;
+        eventNanos[slot] = nanos;
+        tail.setRelease(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Closes the sampling window at {@code nowNanos}: applies every queued event at its own timestamp and records
+     * how long each key was held since the previous call. Consumer (game thread) only.
+     */
+    void sample(long nowNanos) {
+        long start = windowStartNanos;
+        Arrays.fill(heldNanos, 0);
+
+        long sequence = head.getPlain();
+        long available = tail.getAcquire();
+        for (; sequence < available; sequence++) {
+            int slot = (int) (sequence & mask);
+            int keyCode = keyCodes[slot];
+            long stamp = eventNanos[slot];
+            int bucket = FrameStats.bucket(nowNanos - stamp);
+            latencyBuckets.setRelease(bucket, latencyBuckets.getPlain(bucket) + 1);
+
+            // An event stamped just before the last sample but published after it belongs at the window's start
+            long at = Math.max(start, Math.min(nowNanos, stamp));
+            if (pressed[slot]) {
+                if (!down[keyCode]) {
+                    down[keyCode] = true;
+                    downSinceNanos[keyCode] = at;
+                }
+            } else if (down[keyCode]) {
+                down[keyCode] = false;
+                heldNanos[keyCode] += at - downSinceNanos[keyCode];
+            }
+        }
+        head.setRelease(sequence);
+
+        // Keys still down were held to the end of this window and carry into the next one
+        for (int keyCode = 0; keyCode < KEY_COUNT; keyCode++) {
+            if (down[keyCode]) {
+                heldNanos[keyCode] += nowNanos - downSinceNanos[keyCode];
+                downSinceNanos[keyCode] = nowNanos;
+            }
+        }
+        windowNanos = nowNanos - start;
+        windowStartNanos = nowNanos;
+    }
+
+    /** Fraction of the last window, 0 to 1, that the key was held. Consumer only. */
+    double heldFraction(int keyCode) {
+        if (windowNanos <= 0) return down[keyCode] ? 1 : 0;
+        return Math.min(1.0, heldNanos[keyCode] / (double) windowNanos);
+    }
+
+    /** Net movement for a pair of opposing keys over the last window, from -1 to +1. Consumer only. */
+    double direction(int positiveKey, int negativeKey) {
+        return heldFraction(positiveKey) - heldFraction(negativeKey);
+    }
+
+    /** The latency histogram so far. Safe from any thread; a tick running meanwhile may be partly counted. */
+    String summary() {
+        long[] buckets = new long[FrameStats.BUCKET_COUNT];
+        long latencySamples = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = latencyBuckets.getAcquire(i);
+            latencySamples += buckets[i];
+        }
+        if (latencySamples == 0) return "Input: no events";
+        return String.format("Input: %d events, event-to-tick p50 %.2f ms, p99 %.2f ms, %d dropped", latencySamples,
+                FrameStats.percentileMs(buckets, latencySamples, 0.50),
+                FrameStats.percentileMs(buckets, latencySamples, 0.99), droppedEvents.get());
+    }
+}
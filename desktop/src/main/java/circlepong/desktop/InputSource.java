@@ -0,0 +1,20 @@
+package circlepong.desktop;
+
+/**
+ * Something that steers the human paddles: the keyboard, an external controller, a script. The game loop samples
+ * every source once per tick, before the simulation advances, and only from its own thread.
+ */
+interface InputSource {
+    int LEFT = 0, RIGHT = 1;
+
+    /** Closes the sampling window at {@code nowNanos}; the other methods then describe that window. */
+    void sample(long nowNanos);
+
+    /** Net movement of a paddle over the last window, from -1 to +1. */
+    double direction(int side);
+
+    /** Absolute angle the paddle should steer to, or NaN if this source has none. */
+    default double targetAngle(int side) {
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,25 @@
+package circlepong.desktop;
+
+import java.awt.event.KeyEvent;
+
+/** Key bindings over an {@link InputQueue}: W/S for the left paddle, the up/down arrows for the right. */
+final class KeyboardInput implements InputSource {
+    private final InputQueue queue;
+    private final int[] positiveKeys = {KeyEvent.VK_W, KeyEvent.VK_UP};
+    private final int[] negativeKeys = {KeyEvent.VK_S, KeyEvent.VK_DOWN};
+
+    KeyboardInput(InputQueue queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public void sample(long nowNanos) {
+        queue.sample(nowNanos);
+    }
+
+    @Override
+    public double direction(int side) {
+        // Holding both keys cancels out
+        return queue.direction(positiveKeys[side], negativeKeys[side]);
+    }
+}
@@ -0,0 +1,87 @@
+package circlepong.desktop;
+
+import circlepong.core.Ball;
+import circlepong.core.GameMode;
+import circlepong.core.GameSimulation;
+import circlepong.core.Paddle;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+
+/**
+ * Draws the Enhanced Circle Pong look shared by the window and {@link FrameExporter}: arena, paddles, ball and the
+ * score lines of the HUD. World parts expect a transform from world units; the HUD is drawn in view pixels. Callers
+ * add their own extras (particles, the ghost ball, tuning readouts) around these.
+ */
+class MatchRenderer {
+    static final Color BACKGROUND_COLOR = new Color(10, 10, 20);
+    static final Color ARENA_COLOR = new Color(30, 30, 40);
+    static final Color BALL_GLOW_COLOR = new Color(255, 255, 255, 100);
+
+    // HUD fonts, created once instead of on every paint
+    static final Font SCORE_FONT = new Font("Segoe UI", Font.BOLD, 28);
+    static final Font INFO_FONT = new Font("Segoe UI", Font.PLAIN, 16);
+
+    private static final double CENTER = GameSimulation.WORLD_SIZE / 2.0;
+
+    // Paddle sprites are cached per renderer, so each drawing thread needs its own
+    private final PaddleRenderer leftPaddleRenderer = new PaddleRenderer(new Color(0, 200, 255));
+    private final PaddleRenderer rightPaddleRenderer = new PaddleRenderer(new Color(255, 80, 120));
+    private final PaddleRenderer soloPaddleRenderer = new PaddleRenderer(Color.CYAN);
+
+    /** The rim, and the centre line when there are two halves. */
+    void drawArena(Graphics2D g2d, int arenaRadius, GameMode mode) {
+        g2d.setColor(ARENA_COLOR);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.draw(new Ellipse2D.Double(CENTER - arenaRadius, CENTER - arenaRadius, arenaRadius * 2, arenaRadius * 2));
+        if (mode != GameMode.AI_SOLO) {
+            g2d.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{9}, 0));
+            g2d.draw(new Line2D.Double(CENTER, CENTER - arenaRadius, CENTER, CENTER + arenaRadius));
+        }
+    }
+
+    /** Both paddles, or the solo one, with their glow at {@code timeMillis} in its cycle. */
+    void drawPaddles(Graphics2D g2d, GameSimulation match, long timeMillis) {
+        Paddle leftPaddle = match.getLeftPaddle();
+        Paddle rightPaddle = match.getRightPaddle();
+        if (leftPaddle != null) leftPaddleRenderer.draw(g2d, leftPaddle, timeMillis);
+        if (rightPaddle != null) {
+            (leftPaddle == null ? soloPaddleRenderer : rightPaddleRenderer).draw(g2d, rightPaddle, timeMillis);
+        }
+    }
+
+    void drawBall(Graphics2D g2d, Ball ball) {
+        int size = ball.getSize();
+        Ellipse2D.Double body = new Ellipse2D.Double(ball.getX() - size / 2.0, ball.getY() - size / 2.0, size, size);
+        g2d.setColor(Color.WHITE);
+        g2d.fill(body);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(BALL_GLOW_COLOR);
+        g2d.draw(body);
+    }
+
+    /**
+     * The score lines at the top left, leaving the score font and colour set. Returns the baseline for the next
+     * line in that column.
+     */
+    int drawScores(Graphics2D g2d, GameSimulation match) {
+        GameMode mode = match.getMode();
+        g2d.setFont(SCORE_FONT);
+        g2d.setColor(Color.WHITE);
+        if (mode == GameMode.AI_SOLO) {
+            g2d.drawString("Score: " + match.getRightScore(), 30, 40);
+            return 80;
+        }
+        g2d.drawString(mode.getLeftPlayerName() + ": " + match.getLeftScore(), 30, 40);
+        g2d.drawString(mode.getRightPlayerName() + ": " + match.getRightScore(), 30, 80);
+        return 120;
+    }
+
+    /** The mode at the top right of a view {@code viewWidth} wide, leaving the info font and colour set. */
+    void drawModeLine(Graphics2D g2d, GameMode mode, int viewWidth) {
+        g2d.setFont(INFO_FONT);
+        g2d.setColor(Color.YELLOW);
+        g2d.drawString("Mode: " + mode.getDisplayName(), viewWidth - 220, 40);
+    }
+}
@@ -0,0 +1,99 @@
+package circlepong.desktop;
+
+import circlepong.core.Paddle;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Draws paddles in one colour with a "breathing" glow. The glow is rendered once into a sprite and re-blended each
+ * frame, so only a change of paddle size or display scale costs a redraw of the stroke.
+ */
+class PaddleRenderer {
+    private static final int GLOW_RAMP_STEPS = 64;
+    private static final AlphaComposite[] GLOW_RAMP = buildGlowRamp();
+
+    private final Color color;
+    private BasicStroke bodyStroke;
+    private BufferedImage glowSprite; // The glow at full strength, laid along the x axis
+    private double glowSpriteScale;   // Device pixels per world unit the sprite was rendered at
+    private double glowSpriteChord;   // Paddle size the sprite was rendered for
+    private int glowSpriteWidth;
+
+    PaddleRenderer(Color color) {
+        this.color = color;
+    }
+
+    /** One "breathing" cycle of 0.5 + 0.5 * sin(t), sampled so drawing the glow only picks an entry. */
+    private static AlphaComposite[] buildGlowRamp() {
+        AlphaComposite[] ramp = new AlphaComposite[GLOW_RAMP_STEPS];
+        for (int i = 0; i < GLOW_RAMP_STEPS; i++) {
+            float alpha = 0.5f + 0.5f * (float) Math.sin(2 * Math.PI * i / GLOW_RAMP_STEPS);
+            ramp[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha);
+        }
+        return ramp;
+    }
+
+    /** Draws with the glow at the given point of its cycle, so recorded frames don't depend on the wall clock. */
+    void draw(Graphics2D g2d, Paddle paddle, long timeMillis) {
+        int radius = paddle.getRadius();
+        double angle = paddle.getAngle();
+        double halfArcLength = paddle.getArc() / 2;
+        double x1 = paddle.getCenterX() + Math.cos(angle - halfArcLength) * radius;
+        double y1 = paddle.getCenterY() + Math.sin(angle - halfArcLength) * radius;
+        double x2 = paddle.getCenterX() + Math.cos(angle + halfArcLength) * radius;
+        double y2 = paddle.getCenterY() + Math.sin(angle + halfArcLength) * radius;
+
+        // Draw the main paddle
+        if (bodyStroke == null || bodyStroke.getLineWidth() != paddle.getWidth()) {
+            bodyStroke = new BasicStroke(paddle.getWidth(), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+        }
+        g2d.setColor(color);
+        g2d.setStroke(bodyStroke);
+        g2d.draw(new Line2D.Double(x1, y1, x2, y2));
+
+        // Draw a subtle "breathing" glow effect from the pre-rendered sprite
+        AffineTransform worldTransform = g2d.getTransform();
+        double deviceScale = Math.hypot(worldTransform.getScaleX(), worldTransform.getShearY());
+        double chordLength = Math.hypot(x2 - x1, y2 - y1);
+        if (glowSprite == null || glowSpriteScale != deviceScale || Math.abs(glowSpriteChord - chordLength) > 0.5
+                || glowSpriteWidth != paddle.getWidth()) {
+            buildGlowSprite(chordLength, paddle.getWidth(), deviceScale);
+        }
+        double phase = (timeMillis * 0.002) % (2 * Math.PI);
+        Composite previousComposite = g2d.getComposite();
+        g2d.setComposite(GLOW_RAMP[(int) (phase / (2 * Math.PI) * GLOW_RAMP_STEPS) % GLOW_RAMP_STEPS]);
+        g2d.translate((x1 + x2) / 2, (y1 + y2) / 2);
+        g2d.rotate(Math.atan2(y2 - y1, x2 - x1));
+        g2d.scale(1 / deviceScale, 1 / deviceScale);
+        g2d.drawImage(glowSprite, -glowSprite.getWidth() / 2, -glowSprite.getHeight() / 2, null);
+        g2d.setTransform(worldTransform);
+        g2d.setComposite(previousComposite);
+    }
+
+    /** Renders the glow stroke once at device resolution. */
+    private void buildGlowSprite(double chordLength, int width, double deviceScale) {
+        int glowWidth = width + 6;
+        int spriteWidth = (int) Math.ceil((chordLength + glowWidth) * deviceScale) + 2;
+        int spriteHeight = (int) Math.ceil(glowWidth * deviceScale) + 2;
+        BufferedImage sprite = new BufferedImage(spriteWidth, spriteHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = sprite.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            g2d.translate(spriteWidth / 2.0, spriteHeight / 2.0);
+            g2d.scale(deviceScale, deviceScale);
+            g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 150));
+            g2d.setStroke(new BasicStroke(glowWidth, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2d.draw(new Line2D.Double(-chordLength / 2, 0, chordLength / 2, 0));
+        } finally {
+            g2d.dispose();
+        }
+        glowSprite = sprite;
+        glowSpriteScale = deviceScale;
+        glowSpriteChord = chordLength;
+        glowSpriteWidth = width;
+    }
+}
@@ -0,0 +1,147 @@
+package circlepong.desktop;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Collision sparks stored as parallel primitive arrays and rasterized straight into an int[] image buffer,
+ * so any number of particles costs one drawImage call per frame.
+ */
+class ParticleSystem {
+    private static final int MAX_PARTICLES = 4096;
+    private static final int PARTICLE_SIZE = 3;
+    private static final float FADE_PER_TICK = 0.02f;
+
+    private final double[] x = new double[MAX_PARTICLES];
+    private final double[] y = new double[MAX_PARTICLES];
+    private final double[] velX = new double[MAX_PARTICLES];
+    private final double[] velY = new double[MAX_PARTICLES];
+    private final float[] alpha = new float[MAX_PARTICLES];
+    private int count = 0;
+    private final Random random = new Random();
+
+    // Premultiplied ARGB layer the particles are blended into, one pixel per world unit
+    private final BufferedImage layer;
+    private final int[] pixels;
+    private final int width, height;
+    private int dirtyMinY, dirtyMaxY = -1; // Rows touched last frame, the only ones that need clearing
+
+    ParticleSystem(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        this.pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+    }
+
+    /** Emits a burst of sparks; bursts beyond the pool capacity are dropped. */
+    void spawn(double originX, double originY, int burst) {
+        for (int i = 0; i < burst && count < MAX_PARTICLES; i++) {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double speed = random.nextDouble() * 2 + 1;
+            x[count] = originX;
+            y[count] = originY;
+            velX[count] = Math.cos(angle) * speed;
+            velY[count] = Math.sin(angle) * speed;
+            alpha[count] = 1.0f;
+            count++;
+        }
+    }
+
+    void update() {
+        int i = 0;
+        while (i < count) {
+            x[i] += velX[i];
+            y[i] += velY[i];
+            alpha[i] -= FADE_PER_TICK;
+            if (alpha[i] <= 0) {
+                // Swap-remove: move the last live particle into this slot
+                count--;
+                x[i] = x[count];
+                y[i] = y[count];
+                velX[i] = velX[count];
+                velY[i] = velY[count];
+                alpha[i] = alpha[count];
+            } else {
+                i++;
+            }
+        }
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /** Bytes {@link #writeState} needs for the current pool. */
+    int stateSize() {
+        return 4 + count * (4 * 8 + 4);
+    }
+
+    /** The live particles, count first, each column stored contiguously. */
+    void writeState(ByteBuffer buffer) {
+        buffer.putInt(count);
+        for (int i = 0; i < count; i++) buffer.putDouble(x[i]);
+        for (int i = 0; i < count; i++) buffer.putDouble(y[i]);
+        for (int i = 0; i < count; i++) buffer.putDouble(velX[i]);
+        for (int i = 0; i < count; i++) buffer.putDouble(velY[i]);
+        for (int i = 0; i < count; i++) buffer.putFloat(alpha[i]);
+    }
+
+    void readState(ByteBuffer buffer) {
+        int saved = buffer.getInt();
+        if (saved < 0 || saved > MAX_PARTICLES) throw new IllegalArgumentException("Bad particle count " + saved);
+        for (int i = 0; i < saved; i++) x[i] = buffer.getDouble();
+        for (int i = 0; i < saved; i++) y[i] = buffer.getDouble();
+        for (int i = 0; i < saved; i++) velX[i] = buffer.getDouble();
+        for (int i = 0; i < saved; i++) velY[i] = buffer.getDouble();
+        for (int i = 0; i < saved; i++) alpha[i] = buffer.getFloat();
+        count = saved;
+    }
+
+    /** Blends every live particle into the layer and draws it with the caller's (world) transform. */
+    void draw(Graphics2D g2d) {
+        if (dirtyMaxY >= dirtyMinY) {
+            Arrays.fill(pixels, dirtyMinY * width, (dirtyMaxY + 1) * width, 0);
+        }
+        dirtyMinY = height;
+        dirtyMaxY = -1;
+
+        int live = count; // Updated by the game thread; a stale count only costs a frame of accuracy
+        for (int i = 0; i < live; i++) {
+            int px = (int) x[i];
+            int py = (int) y[i];
+            int a = (int) (alpha[i] * 255);
+            if (a <= 0 || px < 0 || py < 0 || px + PARTICLE_SIZE > width || py + PARTICLE_SIZE > height) continue;
+
+            for (int row = py; row < py + PARTICLE_SIZE; row++) {
+                int offset = row * width + px;
+                for (int col = 0; col < PARTICLE_SIZE; col++) {
+                    pixels[offset + col] = blendWhite(pixels[offset + col], a);
+                }
+            }
+            dirtyMinY = Math.min(dirtyMinY, py);
+            dirtyMaxY = Math.max(dirtyMaxY, py + PARTICLE_SIZE - 1);
+        }
+
+        if (dirtyMaxY >= dirtyMinY) {
+            g2d.drawImage(layer, 0, 0, null);
+        }
+    }
+
+    /** Source-over of premultiplied white at the given alpha onto a premultiplied ARGB pixel. */
+    private static int blendWhite(int dst, int a) {
+        int inverse = 255 - a;
+        int da = (dst >>> 24) * inverse / 255 + a;
+        int dr = ((dst >> 16) & 0xFF) * inverse / 255 + a;
+        int dg = ((dst >> 8) & 0xFF) * inverse / 255 + a;
+        int db = (dst & 0xFF) * inverse / 255 + a;
+        return (da << 24) | (dr << 16) | (dg << 8) | db;
+    }
+}
@@ -0,0 +1,17 @@
+package circlepong.desktop;
+
+/**
+ * How frames reach the screen: Swing's passive repaint or active rendering from the game loop.
+ */
+public enum RenderPath {
+    SWING("Swing"),
+    ACTIVE("BufferStrategy");
+
+    private final String displayName;
+
+    RenderPath(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() { return displayName; }
+}
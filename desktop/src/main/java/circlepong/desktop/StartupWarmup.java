@@ -0,0 +1,38 @@
+package circlepong.desktop;
+
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Ruleset;
+
+/**
+ * Runs the game's hot paths before the window opens, so the first seconds of play don't stutter while classes
+ * load and the JIT compiles them. Uses throwaway matches and leaves the real one alone.
+ */
+final class StartupWarmup {
+    private static final long SEED = 1;
+    private static final GameMode[] MODES = {GameMode.TWO_AI, GameMode.HUMAN_VS_AI};
+
+    private StartupWarmup() {}
+
+    /**
+     * Ticks one throwaway match for every ruleset, mode and AI type. Human paddles sweep back and forth so their
+     * movement code warms up too.
+     */
+    static void warmUpPhysics(GameConfig enhancedConfig, int ticks) {
+        for (Ruleset ruleset : Ruleset.values()) {
+            GameConfig config = ruleset == Ruleset.ENHANCED ? enhancedConfig : ruleset.getDefaultConfig();
+            for (GameMode mode : MODES) {
+                for (boolean planningAi : new boolean[]{false, true}) {
+                    if (planningAi && ruleset == Ruleset.CLASSIC) continue; // The classic AI ignores the planner switch
+                    GameSimulation simulation = new GameSimulation(ruleset, mode, config, planningAi, new GameRandom(SEED));
+                    for (int i = 0; i < ticks; i++) {
+                        int direction = (i / 90) % 2 == 0 ? 1 : -1;
+                        simulation.tick(config, direction, -direction);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * The Swing games, CirclePong and Enhanced Circle Pong.
+ */
+module circlepong.desktop {
+    // The game panels are JPanels and KeyListeners built from a GameConfigSource
+    requires transitive java.desktop;
+    requires transitive circlepong.core;
+    requires circlepong.spectator; // Enhanced Circle Pong can stream to spectators
+
+    exports circlepong.desktop;
+}
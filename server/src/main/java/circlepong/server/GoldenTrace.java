@@ -0,0 +1,168 @@
+package circlepong.server;
+
+import circlepong.core.Ball;
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Ruleset;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Golden traces for the shared game core: fixed-seed matches under both rulesets, with scripted human input,
+ * checked tick for tick against {@code golden/traces.txt}. {@code ClassicReference} and {@code EnhancedReference} in
+ * the test sources check the file against the original front-ends' code. Every tick's ball, paddle and score
+ * state is folded into a CRC, and the full state is written out every few seconds of play so a divergence can be
+ * narrowed down.
+ *
+ * Usage: java GoldenTrace [--record] [--file=golden/traces.txt]
+ */
+public class GoldenTrace {
+    static final int TICKS = 3600;             // One minute of play per scenario
+    private static final int CHECKPOINT_TICKS = 300;
+    static final int LEFT_INPUT_PERIOD = 45;   // Ticks each scripted key state is held
+    static final int RIGHT_INPUT_PERIOD = 70;
+
+    // A ball already in flight for a scenario to start from: where the ball and the left paddle are placed
+    static final double GLANCING_X = 400 + 293.11, GLANCING_Y = 400 + 21;
+    static final double GLANCING_VEL_X = 0.09, GLANCING_VEL_Y = Math.sqrt(9 - 0.09 * 0.09);
+    static final double GLANCING_LEFT_ANGLE = 0.05;
+    private static final int SNAPSHOT_BALL_OFFSET = 32 + 8 + 52; // Header, RNG and config come first, see GameSimulation
+
+    static final class Scenario {
+        final String name;
+        final Ruleset ruleset;
+        final GameMode mode;
+        final long seed;
+        final boolean glancing; // Starts from the glancing hit above instead of a serve
+
+        Scenario(String name, Ruleset ruleset, GameMode mode, long seed) {
+            this(name, ruleset, mode, seed, false);
+        }
+
+        Scenario(String name, Ruleset ruleset, GameMode mode, long seed, boolean glancing) {
+            this.name = name;
+            this.ruleset = ruleset;
+            this.mode = mode;
+            this.seed = seed;
+            this.glancing = glancing;
+        }
+    }
+
+    // The planning AI is left out: its search is cut off by wall-clock time, so it can't replay exactly
+    static final Scenario[] SCENARIOS = {
+            new Scenario("classic-two-player", Ruleset.CLASSIC, GameMode.TWO_HUMAN, 1),
+            new Scenario("classic-single-player", Ruleset.CLASSIC, GameMode.HUMAN_VS_AI, 2),
+            new Scenario("classic-auto-play", Ruleset.CLASSIC, GameMode.TWO_AI, 3),
+            // Near the end of the paddle, moving almost along the rim: the hit still sends the ball outward
+            new Scenario("classic-glancing-hit", Ruleset.CLASSIC, GameMode.TWO_HUMAN, 8, true),
+            new Scenario("enhanced-human-vs-ai", Ruleset.ENHANCED, GameMode.HUMAN_VS_AI, 4),
+            new Scenario("enhanced-two-human", Ruleset.ENHANCED, GameMode.TWO_HUMAN, 5),
+            new Scenario("enhanced-two-ai", Ruleset.ENHANCED, GameMode.TWO_AI, 6),
+            new Scenario("enhanced-ai-solo", Ruleset.ENHANCED, GameMode.AI_SOLO, 7),
+    };
+
+    /** Held key for a scripted player: cycles through -1, 0 and +1, holding each for {@code period} ticks. */
+    static int scriptedDirection(long tick, int period) {
+        return (int) ((tick / period) % 3) - 1;
+    }
+
+    /** The scenario's match before its first tick. */
+    static GameSimulation start(Scenario scenario) {
+        GameSimulation simulation = new GameSimulation(scenario.ruleset, scenario.mode, scenario.ruleset.getDefaultConfig(),
+                false, new GameRandom(scenario.seed));
+        if (scenario.glancing) {
+            placeBall(simulation, GLANCING_X, GLANCING_Y, GLANCING_VEL_X, GLANCING_VEL_Y);
+            simulation.getLeftPaddle().setAngle(GLANCING_LEFT_ANGLE);
+        }
+        return simulation;
+    }
+
+    static List<String> trace(Scenario scenario) {
+        GameConfig config = scenario.ruleset.getDefaultConfig();
+        GameSimulation simulation = start(scenario);
+        CRC32 crc = new CRC32();
+        List<String> lines = new ArrayList<>();
+        lines.add("scenario " + scenario.name);
+        for (long tick = 1; tick <= TICKS; tick++) {
+            simulation.tick(config, scriptedDirection(tick, LEFT_INPUT_PERIOD), scriptedDirection(tick, RIGHT_INPUT_PERIOD));
+
+            Ball ball = simulation.getBall();
+            double leftAngle = simulation.getLeftPaddle() != null ? simulation.getLeftPaddle().getAngle() : Double.NaN;
+            double rightAngle = simulation.getRightPaddle() != null ? simulation.getRightPaddle().getAngle() : Double.NaN;
+            addTick(lines, crc, tick, ball.getX(), ball.getY(), ball.getVelX(), ball.getVelY(), leftAngle, rightAngle,
+                    simulation.getLeftScore(), simulation.getRightScore());
+        }
+        return lines;
+    }
+
+    /** Puts the ball at a given position and velocity by editing a snapshot of the match, the only way in from here. */
+    private static void placeBall(GameSimulation simulation, double x, double y, double velX, double velY) {
+        ByteBuffer snapshot = ByteBuffer.allocate(GameSimulation.SNAPSHOT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        simulation.writeSnapshot(snapshot);
+        snapshot.position(SNAPSHOT_BALL_OFFSET);
+        snapshot.putDouble(x).putDouble(y).putDouble(velX).putDouble(velY).putDouble(Math.hypot(velX, velY));
+        snapshot.rewind();
+        simulation.restoreSnapshot(snapshot);
+    }
+
+    /** Folds one tick's state into the trace's CRC, and adds a checkpoint line to the trace every few seconds. */
+    static void addTick(List<String> lines, CRC32 crc, long tick, double ballX, double ballY, double velX, double velY,
+                        double leftAngle, double rightAngle, int leftScore, int rightScore) {
+        ByteBuffer state = ByteBuffer.allocate(8 * 8);
+        state.putDouble(ballX).putDouble(ballY).putDouble(velX).putDouble(velY)
+                .putDouble(leftAngle).putDouble(rightAngle)
+                .putLong(leftScore).putLong(rightScore);
+        crc.update(state.array());
+
+        if (tick % CHECKPOINT_TICKS == 0) {
+            lines.add(tick + " " + Long.toHexString(crc.getValue()) + " " + ballX + " " + ballY + " "
+                    + velX + " " + velY + " " + leftAngle + " " + rightAngle + " " + leftScore + " " + rightScore);
+        }
+    }
+
+    private GoldenTrace() {}
+
+    public static void main(String[] args) throws IOException {
+        boolean record = false;
+        Path file = Paths.get("golden", "traces.txt");
+        for (String arg : args) {
+            if (arg.equals("--record")) record = true;
+            else if (arg.startsWith("--file=")) file = Paths.get(arg.substring("--file=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        List<String> actual = new ArrayList<>();
+        for (Scenario scenario : SCENARIOS) actual.addAll(trace(scenario));
+
+        if (record) {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Files.write(file, actual, StandardCharsets.UTF_8);
+            System.out.printf("Recorded %d scenarios to %s%n", SCENARIOS.length, file);
+            return;
+        }
+
+        List<String> expected = Files.readAllLines(file, StandardCharsets.UTF_8);
+        String scenario = "";
+        for (int i = 0; i < Math.max(expected.size(), actual.size()); i++) {
+            String want = i < expected.size() ? expected.get(i) : "<end of file>";
+            String got = i < actual.size() ? actual.get(i) : "<no more output>";
+            if (want.startsWith("scenario ")) scenario = want.substring("scenario ".length());
+            if (!want.equals(got)) {
+                System.out.printf("MISMATCH in %s%n  expected: %s%n  actual:   %s%n", scenario, want, got);
+                System.exit(1);
+            }
+        }
+        System.out.printf("All %d scenarios match %s tick for tick%n", SCENARIOS.length, file);
+    }
+}
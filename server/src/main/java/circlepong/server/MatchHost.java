@@ -0,0 +1,291 @@
+package circlepong.server;
+
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameSimulation;
+import circlepong.core.MatchRecord;
+import circlepong.core.MatchStatsStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs many headless matches in one JVM. A single timer thread walks a hashed timing wheel and hands each due
+ * match to a small work-stealing pool, so thousands of games share a few threads instead of each sleeping on its own.
+ * Every tick records how late it started relative to its schedule, per match and host-wide.
+ *
+ * Usage: java MatchHost [--matches=2000] [--workers=N] [--seconds=10] [--mode=two_ai|ai_solo] [--planner] [--stats=DIR]
+ */
+public class MatchHost implements Runnable {
+    static final long TICK_NANOS = 1_000_000_000L / 60;
+    private static final long WHEEL_RESOLUTION_NANOS = 1_000_000;  // One slot per millisecond
+    private static final int WHEEL_SLOTS = 64;                     // Power of two; one turn spans several tick periods
+    private static final long MAX_CATCH_UP_NANOS = 5 * TICK_NANOS; // A match further behind than this skips ticks instead of bursting
+    private static final long LAG_BUCKET_NANOS = 250_000;          // 0.25 ms resolution, like FrameStats
+    private static final int LAG_BUCKET_COUNT = 400;
+
+    /** One hosted game and its scheduling state. Only ever ticked by one worker at a time. */
+    static final class Match implements Runnable {
+        final int id;
+        private final GameSimulation simulation;
+        private final GameConfig config;
+        private final MatchHost host;
+        private long deadlineNanos;  // When the next tick is due
+        private long wheelTick;      // Wheel tick on which it fires, assigned by the timer thread
+        private volatile boolean stopped;
+
+        // Tick-lag metrics, written by whichever worker ran the last tick
+        private volatile long ticks;
+        private volatile long skippedTicks;
+        private volatile long lateTicks;     // Started more than a whole tick period late
+        private volatile long totalLagNanos;
+        private volatile long maxLagNanos;
+
+        Match(int id, GameSimulation simulation, GameConfig config, MatchHost host, long firstDeadlineNanos) {
+            this.id = id;
+            this.simulation = simulation;
+            this.config = config;
+            this.host = host;
+            this.deadlineNanos = firstDeadlineNanos;
+        }
+
+        @Override
+        public void run() {
+            if (stopped) return;
+            long start = System.nanoTime();
+            long lag = Math.max(0, start - deadlineNanos);
+            simulation.tick(config, 0, 0);
+
+            ticks++;
+            totalLagNanos += lag;
+            if (lag > maxLagNanos) maxLagNanos = lag;
+            if (lag > TICK_NANOS) lateTicks++;
+            host.recordLag(lag);
+
+            // Fixed-rate schedule, but don't try to replay a long stall tick by tick
+            deadlineNanos += TICK_NANOS;
+            if (start - deadlineNanos > MAX_CATCH_UP_NANOS) {
+                long behind = (start - deadlineNanos) / TICK_NANOS;
+                skippedTicks += behind;
+                deadlineNanos += behind * TICK_NANOS;
+            }
+            host.schedule(this);
+        }
+
+        void stop() { stopped = true; }
+
+        GameSimulation getSimulation() { return simulation; }
+        long getTicks() { return ticks; }
+        long getSkippedTicks() { return skippedTicks; }
+        long getLateTicks() { return lateTicks; }
+        long getMaxLagNanos() { return maxLagNanos; }
+        double getMeanLagMillis() { return ticks == 0 ? 0 : totalLagNanos / (double) ticks / 1e6; }
+    }
+
+    private final ForkJoinPool workers;
+    private final List<Match> matches = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<Match> pending = new ConcurrentLinkedQueue<>(); // Due matches handed back by workers
+    private final List<List<Match>> wheel = new ArrayList<>(WHEEL_SLOTS);  // Owned by the timer thread
+    private final long originNanos = System.nanoTime();
+    private final Thread timer = new Thread(this, "match-host-wheel");
+    private volatile boolean running = true;
+
+    private final AtomicLongArray lagBuckets = new AtomicLongArray(LAG_BUCKET_COUNT);
+    private final LongAdder totalTicks = new LongAdder();
+
+    MatchHost(int workerCount) {
+        for (int i = 0; i < WHEEL_SLOTS; i++) wheel.add(new ArrayList<>());
+        // Async mode: tasks are independent events, so FIFO local queues suit them better than fork/join LIFO
+        workers = new ForkJoinPool(workerCount, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    void start() {
+        timer.setDaemon(true);
+        timer.start();
+    }
+
+    void shutdown() {
+        running = false;
+        try {
+            timer.join(); // The timer is the only thread submitting work
+            workers.shutdown();
+            workers.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Adds a match; its ticks are phase-shifted so a batch of new matches doesn't all fire on the same slot. */
+    Match addMatch(GameSimulation simulation, GameConfig config) {
+        int id = matches.size();
+        long phase = (long) ((id * 0.6180339887) % 1.0 * TICK_NANOS);
+        Match match = new Match(id, simulation, config, this, System.nanoTime() + phase);
+        matches.add(match);
+        schedule(match);
+        return match;
+    }
+
+    void removeMatch(Match match) {
+        match.stop();
+        matches.remove(match);
+    }
+
+    List<Match> getMatches() {
+        return matches;
+    }
+
+    long getTotalTicks() {
+        return totalTicks.sum();
+    }
+
+    private void schedule(Match match) {
+        pending.add(match);
+    }
+
+    private void recordLag(long lagNanos) {
+        lagBuckets.incrementAndGet((int) Math.min(LAG_BUCKET_COUNT - 1, lagNanos / LAG_BUCKET_NANOS));
+        totalTicks.increment();
+    }
+
+    @Override
+    public void run() {
+        long tick = 0;
+        while (running) {
+            // Wait for the end of this slot's millisecond; if the timer itself fell behind, run slots back to back
+            long slotEnd = originNanos + (tick + 1) * WHEEL_RESOLUTION_NANOS;
+            long wait;
+            while ((wait = slotEnd - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            transferPending(tick);
+            expire(wheel.get((int) (tick & (WHEEL_SLOTS - 1))), tick);
+            tick++;
+        }
+    }
+
+    /** Moves matches handed back by workers into the slot of their next deadline. */
+    private void transferPending(long tick) {
+        Match match;
+        while ((match = pending.poll()) != null) {
+            if (match.stopped) continue;
+            long due = (match.deadlineNanos - originNanos) / WHEEL_RESOLUTION_NANOS;
+            match.wheelTick = Math.max(due, tick); // Already overdue: fire on this tick
+            wheel.get((int) (match.wheelTick & (WHEEL_SLOTS - 1))).add(match);
+        }
+    }
+
+    /** Submits every match in the slot that is due now; ones belonging to a later turn of the wheel stay put. */
+    private void expire(List<Match> slot, long tick) {
+        int i = 0;
+        while (i < slot.size()) {
+            Match match = slot.get(i);
+            if (match.wheelTick <= tick) {
+                // Swap-remove, order within a slot doesn't matter
+                int last = slot.size() - 1;
+                slot.set(i, slot.get(last));
+                slot.remove(last);
+                if (!match.stopped) workers.execute(match);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /** Tick-lag percentiles since the previous call, plus each match's running late and skipped counts. */
+    String summary() {
+        long[] counts = new long[LAG_BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < LAG_BUCKET_COUNT; i++) {
+            counts[i] = lagBuckets.getAndSet(i, 0);
+            total += counts[i];
+        }
+        if (total == 0) return matches.size() + " matches, no ticks";
+        long late = 0, skipped = 0;
+        for (Match match : matches) {
+            late += match.getLateTicks();
+            skipped += match.getSkippedTicks();
+        }
+        return String.format("%d matches, %d ticks, lag p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, %d late, %d skipped",
+                matches.size(), total, percentileMs(counts, total, 0.50), percentileMs(counts, total, 0.99),
+                percentileMs(counts, total, 0.999), late, skipped);
+    }
+
+    private static double percentileMs(long[] buckets, long total, double percentile) {
+        long target = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) return (i + 1) * LAG_BUCKET_NANOS / 1e6;
+        }
+        return LAG_BUCKET_COUNT * LAG_BUCKET_NANOS / 1e6;
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int matchCount = 2000;
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        int seconds = 10;
+        GameMode mode = GameMode.TWO_AI;
+        boolean planner = false;
+        Path statsDirectory = null;
+        for (String arg : args) {
+            if (arg.startsWith("--matches=")) matchCount = Integer.parseInt(arg.substring("--matches=".length()));
+            else if (arg.startsWith("--workers=")) workerCount = Integer.parseInt(arg.substring("--workers=".length()));
+            else if (arg.startsWith("--seconds=")) seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+            else if (arg.startsWith("--mode=")) mode = GameMode.valueOf(arg.substring("--mode=".length()).toUpperCase());
+            else if (arg.equals("--planner")) planner = true;
+            else if (arg.startsWith("--stats=")) statsDirectory = Paths.get(arg.substring("--stats=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+        if (mode == GameMode.HUMAN_VS_AI || mode == GameMode.TWO_HUMAN) {
+            throw new IllegalArgumentException("Hosted matches have no human players: use two_ai or ai_solo");
+        }
+
+        MatchStatsStore stats = statsDirectory != null ? MatchStatsStore.open(statsDirectory) : null;
+        MatchHost host = new MatchHost(workerCount);
+        for (int i = 0; i < matchCount; i++) {
+            GameSimulation simulation = new GameSimulation(mode, GameConfig.DEFAULTS, planner);
+            if (stats != null) simulation.addListener(stats.recorderFor(simulation));
+            host.addMatch(simulation, GameConfig.DEFAULTS);
+        }
+        host.start();
+        System.out.printf("Hosting %d %s matches on %d workers (%s AI)%n", matchCount, mode.getDisplayName(), workerCount, planner ? "planner" : "reactive");
+
+        long lastTicks = 0;
+        for (int s = 1; s <= seconds; s++) {
+            Thread.sleep(1000);
+            long ticksNow = host.getTotalTicks();
+            System.out.printf("%3ds  %d ticks/s (target %d)  %s%n", s, ticksNow - lastTicks, matchCount * 60, host.summary());
+            lastTicks = ticksNow;
+        }
+        host.shutdown();
+
+        List<Match> worst = new ArrayList<>(host.getMatches());
+        worst.sort(Comparator.comparingLong(Match::getMaxLagNanos).reversed());
+        System.out.println("Worst matches by max tick lag:");
+        for (Match match : worst.subList(0, Math.min(5, worst.size()))) {
+            System.out.printf("  match %d: %d ticks, mean lag %.2f ms, max %.2f ms, %d late, %d skipped, score %d-%d%n",
+                    match.id, match.getTicks(), match.getMeanLagMillis(), match.getMaxLagNanos() / 1e6,
+                    match.getLateTicks(), match.getSkippedTicks(),
+                    match.getSimulation().getLeftScore(), match.getSimulation().getRightScore());
+        }
+
+        if (stats != null) {
+            System.out.println("Longest " + mode.getDisplayName() + " rallies on record:");
+            for (MatchRecord record : stats.getLeaderboard().top(mode, 5)) {
+                System.out.printf("  %d hits, %.1f s, max speed %.2f%n", record.rallyLength, record.getDurationSeconds(), record.maxBallSpeed);
+            }
+            stats.close();
+        }
+    }
+}
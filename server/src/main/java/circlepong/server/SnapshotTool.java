@@ -0,0 +1,154 @@
+package circlepong.server;
+
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Paddle;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exercises game snapshots on a headless match: times save and restore, checks that a fork replays its original
+ * tick for tick, then forks the match into differently seeded branches and fast-forwards them in parallel to see
+ * how the next stretch of play could go.
+ *
+ * Usage: java SnapshotTool [--mode=two_ai|ai_solo] [--seed=1] [--warmup=600] [--branches=8] [--ahead=3600] [--planner]
+ */
+public class SnapshotTool {
+    private static final int TIMING_ROUNDS = 200_000;
+
+    /** Hits and misses in one branch. Only touched by the thread fast-forwarding it. */
+    private static final class Outcome implements GameSimulation.Listener {
+        int hits, misses, longestRally, rally;
+
+        @Override
+        public void onPaddleHit(Paddle paddle, double x, double y) {
+            hits++;
+            longestRally = Math.max(longestRally, ++rally);
+        }
+
+        @Override
+        public void onMiss(double x, double y) {
+            misses++;
+            rally = 0;
+        }
+    }
+
+    private SnapshotTool() {}
+
+    public static void main(String[] args) throws Exception {
+        GameMode mode = GameMode.TWO_AI;
+        long seed = 1;
+        int warmupTicks = 600;
+        int branches = 8;
+        int aheadTicks = 3600;
+        boolean planner = false;
+        for (String arg : args) {
+            if (arg.startsWith("--mode=")) mode = GameMode.valueOf(arg.substring("--mode=".length()).toUpperCase());
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.startsWith("--warmup=")) warmupTicks = Integer.parseInt(arg.substring("--warmup=".length()));
+            else if (arg.startsWith("--branches=")) branches = Integer.parseInt(arg.substring("--branches=".length()));
+            else if (arg.startsWith("--ahead=")) aheadTicks = Integer.parseInt(arg.substring("--ahead=".length()));
+            else if (arg.equals("--planner")) planner = true;
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+        if (mode == GameMode.HUMAN_VS_AI || mode == GameMode.TWO_HUMAN) {
+            throw new IllegalArgumentException("Snapshots are exercised without players: use two_ai or ai_solo");
+        }
+
+        GameConfig config = GameConfig.DEFAULTS;
+        GameSimulation simulation = new GameSimulation(mode, config, planner, new GameRandom(seed));
+        for (int i = 0; i < warmupTicks; i++) simulation.tick(config, 0, 0);
+        System.out.printf("%s match after %d ticks: score %d-%d, snapshot is %d bytes%n",
+                mode.getDisplayName(), warmupTicks, simulation.getLeftScore(), simulation.getRightScore(), GameSimulation.SNAPSHOT_SIZE);
+
+        timeSaveAndRestore(simulation);
+        checkReplay(simulation, config, aheadTicks, planner);
+        exploreBranches(simulation, config, seed, branches, aheadTicks);
+    }
+
+    private static void timeSaveAndRestore(GameSimulation simulation) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(GameSimulation.SNAPSHOT_SIZE);
+        GameSimulation target = simulation.fork();
+        for (int pass = 0; pass < 2; pass++) { // The first pass warms up the JIT
+            long start = System.nanoTime();
+            for (int i = 0; i < TIMING_ROUNDS; i++) {
+                buffer.clear();
+                simulation.writeSnapshot(buffer);
+            }
+            long saved = System.nanoTime();
+            for (int i = 0; i < TIMING_ROUNDS; i++) {
+                buffer.flip();
+                target.restoreSnapshot(buffer);
+            }
+            long restored = System.nanoTime();
+            if (pass == 1) {
+                System.out.printf("Save %.0f ns, restore %.0f ns (mean of %d)%n",
+                        (saved - start) / (double) TIMING_ROUNDS, (restored - saved) / (double) TIMING_ROUNDS, TIMING_ROUNDS);
+            }
+        }
+    }
+
+    /** Two forks of the same state must stay byte-identical for as long as they are ticked together. */
+    private static void checkReplay(GameSimulation simulation, GameConfig config, int ticks, boolean planner) {
+        GameSimulation first = simulation.fork();
+        GameSimulation second = simulation.fork();
+        ByteBuffer a = ByteBuffer.allocate(GameSimulation.SNAPSHOT_SIZE);
+        ByteBuffer b = ByteBuffer.allocate(GameSimulation.SNAPSHOT_SIZE);
+        for (int i = 0; i < ticks; i++) {
+            first.tick(config, 0, 0);
+            second.tick(config, 0, 0);
+            a.clear();
+            b.clear();
+            first.writeSnapshot(a);
+            second.writeSnapshot(b);
+            if (!Arrays.equals(a.array(), b.array())) {
+                // The planner's search is cut off by wall-clock time, so its forks may legitimately drift
+                System.out.printf("Replay diverged at tick %d%s%n", i + 1, planner ? " (expected with the time-budgeted planner)" : "");
+                return;
+            }
+        }
+        System.out.printf("Replay identical for %d ticks%n", ticks);
+    }
+
+    private static void exploreBranches(GameSimulation simulation, GameConfig config, long seed, int branches, int ticks) throws Exception {
+        List<GameSimulation> forks = new ArrayList<>();
+        List<Outcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < branches; i++) {
+            GameSimulation fork = simulation.fork();
+            fork.getRandom().setState(new GameRandom(seed * 31 + i + 1).nextLong()); // Same position, different luck
+            Outcome outcome = new Outcome();
+            fork.addListener(outcome);
+            forks.add(fork);
+            outcomes.add(outcome);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (GameSimulation fork : forks) {
+            running.add(pool.submit(() -> {
+                for (int t = 0; t < ticks; t++) fork.tick(config, 0, 0);
+            }));
+        }
+        for (Future<?> future : running) future.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        System.out.printf("%d branches fast-forwarded %d ticks (%.0f s of play) in %.2f s, %.0fx real time%n",
+                branches, ticks, ticks / 60.0, seconds, branches * ticks / 60.0 / seconds);
+        for (int i = 0; i < branches; i++) {
+            Outcome outcome = outcomes.get(i);
+            GameSimulation fork = forks.get(i);
+            System.out.printf("  branch %2d: %4d hits, %3d misses, longest rally %3d, ends %d-%d%n",
+                    i, outcome.hits, outcome.misses, outcome.longestRally, fork.getLeftScore(), fork.getRightScore());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package circlepong.server;
+
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameSimulation;
+import circlepong.spectator.SpectatorServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opens many WebSocket viewers against a spectator server and reports how many frames reach them.
+ * Every viewer runs on one selector thread, so thousands of connections are cheap on the client side too.
+ *
+ * Usage: java SpectatorLoadGenerator [--host=localhost] [--port=9090] [--clients=2000] [--seconds=10] [--embedded]
+ * With --embedded, a spectator server fed by a synthetic 60 Hz rally is started in-process on the same port.
+ */
+public class SpectatorLoadGenerator {
+    private static final int RECEIVE_BUFFER_SIZE = 8 * 1024;
+
+    private static long framesReceived;
+    private static long framesSkipped;  // Gaps in the sequence numbers: frames the server dropped for us
+    private static long bytesReceived;
+
+    private SpectatorLoadGenerator() {}
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 9090;
+        int clients = 2000;
+        int seconds = 10;
+        boolean embedded = false;
+        for (String arg : args) {
+            if (arg.startsWith("--host=")) host = arg.substring("--host=".length());
+            else if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring("--port=".length()));
+            else if (arg.startsWith("--clients=")) clients = Integer.parseInt(arg.substring("--clients=".length()));
+            else if (arg.startsWith("--seconds=")) seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+            else if (arg.equals("--embedded")) embedded = true;
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        SpectatorServer server = null;
+        if (embedded) {
+            server = new SpectatorServer(port);
+            server.start();
+            startSyntheticFeed(server);
+        }
+
+        Selector selector = Selector.open();
+        List<Viewer> viewers = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.connect(new InetSocketAddress(host, port));
+            Viewer viewer = new Viewer(channel, host, port);
+            channel.register(selector, SelectionKey.OP_CONNECT, viewer);
+            viewers.add(viewer);
+        }
+
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long nextReport = start + 1_000_000_000L;
+        long lastFrames = 0;
+        while (System.nanoTime() < end) {
+            selector.select(100);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Viewer viewer = (Viewer) key.attachment();
+                try {
+                    if (key.isConnectable()) viewer.onConnected(key);
+                    else if (key.isReadable()) viewer.onReadable(key);
+                } catch (IOException e) {
+                    viewer.failed = true;
+                    key.cancel();
+                    key.channel().close();
+                }
+            }
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                System.out.printf("%5.1fs  %d viewers streaming, %d frames/s%n",
+                        (now - start) / 1e9, countStreaming(viewers), framesReceived - lastFrames);
+                lastFrames = framesReceived;
+                nextReport += 1_000_000_000L;
+            }
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        int failed = 0;
+        for (Viewer viewer : viewers) if (viewer.failed) failed++;
+        System.out.printf("Viewers: %d requested, %d streaming, %d failed%n", clients, countStreaming(viewers), failed);
+        System.out.printf("Delivered: %d frames (%.0f/s, %.1f MB/s), %d skipped by backpressure (%.2f%%)%n",
+                framesReceived, framesReceived / elapsed, bytesReceived / elapsed / 1e6,
+                framesSkipped, 100.0 * framesSkipped / Math.max(1, framesReceived + framesSkipped));
+        if (server != null) {
+            System.out.println("Server saw " + server.getSubscriberCount() + " subscribers");
+            server.stop();
+        }
+        selector.close();
+    }
+
+    private static int countStreaming(List<Viewer> viewers) {
+        int streaming = 0;
+        for (Viewer viewer : viewers) if (viewer.upgraded && !viewer.failed) streaming++;
+        return streaming;
+    }
+
+    /** Publishes a two-AI match at 60 Hz without a window, standing in for the game loop. */
+    private static void startSyntheticFeed(SpectatorServer server) {
+        GameSimulation simulation = new GameSimulation(GameMode.TWO_AI, GameConfig.DEFAULTS, false);
+        Thread feed = new Thread(() -> {
+            while (true) {
+                simulation.tick(GameConfig.DEFAULTS, 0, 0);
+                server.publish(simulation);
+                try {
+                    Thread.sleep(1000 / 60);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "synthetic-feed");
+        feed.setDaemon(true);
+        feed.start();
+    }
+
+    /** One simulated viewer: sends the upgrade request, then parses binary frames and checks sequence numbers. */
+    private static final class Viewer {
+        private final SocketChannel channel;
+        private final String host;
+        private final int port;
+        private final ByteBuffer in = ByteBuffer.allocate(RECEIVE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private boolean upgraded;
+        private boolean failed;
+        private long lastSeq = -1;
+
+        Viewer(SocketChannel channel, String host, int port) {
+            this.channel = channel;
+            this.host = host;
+            this.port = port;
+        }
+
+        void onConnected(SelectionKey key) throws IOException {
+            channel.finishConnect();
+            byte[] nonce = new byte[16];
+            ThreadLocalRandom.current().nextBytes(nonce);
+            String request = "GET / HTTP/1.1\r\n"
+                    + "Host: " + host + ":" + port + "\r\n"
+                    + "Upgrade: websocket\r\n"
+                    + "Connection: Upgrade\r\n"
+                    + "Sec-WebSocket-Key: " + Base64.getEncoder().encodeToString(nonce) + "\r\n"
+                    + "Sec-WebSocket-Version: 13\r\n\r\n";
+            ByteBuffer out = ByteBuffer.wrap(request.getBytes(StandardCharsets.ISO_8859_1));
+            while (out.hasRemaining()) channel.write(out); // Tiny request; the socket buffer is empty at this point
+            key.interestOps(SelectionKey.OP_READ);
+        }
+
+        void onReadable(SelectionKey key) throws IOException {
+            if (channel.read(in) < 0) throw new IOException("closed by server");
+            in.flip();
+            if (!upgraded) {
+                int headerEnd = findHeaderEnd(in);
+                if (headerEnd < 0) {
+                    in.compact();
+                    return;
+                }
+                String status = StandardCharsets.ISO_8859_1.decode(in.duplicate().limit(headerEnd)).toString();
+                if (!status.startsWith("HTTP/1.1 101")) throw new IOException("upgrade refused");
+                in.position(headerEnd);
+                upgraded = true;
+            }
+            while (in.remaining() >= SpectatorServer.FRAME_SIZE) {
+                int payloadLength = in.get(in.position() + 1) & 0x7F;
+                if (payloadLength != SpectatorServer.PAYLOAD_SIZE) throw new IOException("unexpected frame length " + payloadLength);
+                long seq = in.getInt(in.position() + 2) & 0xFFFFFFFFL;
+                if (lastSeq >= 0 && seq > lastSeq + 1) framesSkipped += seq - lastSeq - 1;
+                lastSeq = seq;
+                framesReceived++;
+                bytesReceived += SpectatorServer.FRAME_SIZE;
+                in.position(in.position() + SpectatorServer.FRAME_SIZE);
+            }
+            in.compact();
+        }
+
+        private static int findHeaderEnd(ByteBuffer buffer) {
+            for (int i = buffer.position(); i + 3 < buffer.limit(); i++) {
+                if (buffer.get(i) == '\r' && buffer.get(i + 1) == '\n' && buffer.get(i + 2) == '\r' && buffer.get(i + 3) == '\n') {
+                    return i + 4;
+                }
+            }
+            return -1;
+        }
+    }
+}
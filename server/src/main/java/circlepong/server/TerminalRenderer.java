@@ -0,0 +1,221 @@
+package circlepong.server;
+
+import circlepong.core.Ball;
+import circlepong.core.GameConfig;
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Paddle;
+import circlepong.core.Ruleset;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Draws a match as ANSI text, so AI runs can be watched over SSH on a machine without a display. The layout is the
+ * one from the old C++ version (main.cpp): an 80x40 character buffer with the arena as a ring of '_', paddles of
+ * '#', the ball as 'O', '+' at the centre, and rows squashed by half because terminal cells are about twice as tall
+ * as they are wide.
+ *
+ * Each frame is rasterised into a fresh buffer and compared with the previous one; only the cells that changed are
+ * sent, as runs behind a cursor move. A frame where the ball and one paddle moved costs a few dozen bytes instead of
+ * the 3 KB of a full repaint, which is what lets it keep up with the tick rate over a slow link.
+ *
+ * Usage: java TerminalRenderer [--mode=ai_solo|two_ai] [--classic] [--planner] [--seed=N] [--rate=60 (0 = unpaced)]
+ *            [--seconds=0 (until interrupted)]
+ */
+public class TerminalRenderer {
+    static final int WIDTH = 80;
+    static final int HEIGHT = 40;
+    private static final int ROWS = HEIGHT + 1;        // The arena plus a status line
+    private static final int CENTER_COLUMN = WIDTH / 2;
+    private static final int CENTER_ROW = HEIGHT / 2;
+    private static final double RADIUS = 25.0;         // Arena radius in columns
+    private static final double ROW_ASPECT = 0.5;      // Rows per column of the same length
+    private static final double RIM_STEP = Math.toRadians(3);
+    private static final double PADDLE_STEP = 0.05;    // Radians between paddle cells
+    private static final int WORLD_CENTER = GameSimulation.WORLD_SIZE / 2;
+    // A cursor move costs up to 8 bytes, so a short gap of unchanged cells is cheaper to resend than to jump over
+    private static final int MAX_GAP = 6;
+
+    private static final byte[] CLEAR_SCREEN = ascii("\033[?25l\033[2J");
+    private static final byte[] RESTORE = ascii("\033[0m\033[?25h");
+
+    private final double scale;
+    private final char[] frame = new char[WIDTH * ROWS];
+    private final char[] previous = new char[WIDTH * ROWS];
+    private final byte[] out = new byte[WIDTH * ROWS * 10]; // Room for a cursor move before every cell
+    private int length;
+    private boolean first = true;
+
+    public TerminalRenderer(GameConfig config) {
+        scale = RADIUS / config.getArenaRadius();
+    }
+
+    /**
+     * Encodes the changes since the last call into the output buffer and returns how many bytes it holds. The first
+     * call clears the screen and hides the cursor.
+     */
+    public int render(GameSimulation simulation) {
+        rasterize(simulation);
+        length = 0;
+        if (first) {
+            append(CLEAR_SCREEN);
+            Arrays.fill(previous, ' '); // Everything that isn't blank gets drawn
+            first = false;
+        }
+        for (int row = 0; row < ROWS; row++) {
+            int base = row * WIDTH;
+            int column = 0;
+            while (column < WIDTH) {
+                if (frame[base + column] == previous[base + column]) {
+                    column++;
+                    continue;
+                }
+                int start = column;
+                int end = column; // Last changed cell of the run
+                for (int next = column + 1; next < WIDTH && next - end <= MAX_GAP; next++) {
+                    if (frame[base + next] != previous[base + next]) end = next;
+                }
+                moveCursor(row, start);
+                for (int i = start; i <= end; i++) out[length++] = (byte) frame[base + i];
+                column = end + 1;
+            }
+        }
+        System.arraycopy(frame, 0, previous, 0, frame.length);
+        return length;
+    }
+
+    /** Writes the bytes from the last {@link #render}. */
+    public void writeTo(OutputStream stream) throws IOException {
+        stream.write(out, 0, length);
+    }
+
+    /** The bytes a plain redraw of the whole buffer would take: a home move, then every row and its line break. */
+    public static int fullFrameBytes() {
+        return 3 + ROWS * (WIDTH + 2);
+    }
+
+    private void rasterize(GameSimulation simulation) {
+        Arrays.fill(frame, ' ');
+        for (double angle = 0; angle < 2 * Math.PI; angle += RIM_STEP) {
+            plot(CENTER_COLUMN + (int) (RADIUS * Math.cos(angle)),
+                    CENTER_ROW + (int) (RADIUS * Math.sin(angle) * ROW_ASPECT), '_');
+        }
+        plotPaddle(simulation.getLeftPaddle());
+        plotPaddle(simulation.getRightPaddle());
+        plot(CENTER_COLUMN, CENTER_ROW, '+');
+        Ball ball = simulation.getBall();
+        plot(CENTER_COLUMN + (int) ((ball.getX() - WORLD_CENTER) * scale),
+                CENTER_ROW + (int) ((ball.getY() - WORLD_CENTER) * scale * ROW_ASPECT), 'O');
+
+        String status = simulation.getMode() == GameMode.AI_SOLO
+                ? String.format("Score: %d   %s   tick %d", simulation.getRightScore(), simulation.getMode().getDisplayName(), simulation.getTickCount())
+                : String.format("Score: %d - %d   %s   tick %d", simulation.getLeftScore(), simulation.getRightScore(),
+                        simulation.getMode().getDisplayName(), simulation.getTickCount());
+        int statusBase = HEIGHT * WIDTH;
+        for (int i = 0; i < status.length() && i < WIDTH; i++) frame[statusBase + i] = status.charAt(i);
+    }
+
+    private void plotPaddle(Paddle paddle) {
+        if (paddle == null) return;
+        double half = paddle.getArc() / 2;
+        // Paddles ride just inside the rim, as in main.cpp
+        double radius = (paddle.getRadius() - paddle.getWidth()) * scale;
+        for (double offset = -half; offset <= half; offset += PADDLE_STEP) {
+            double angle = paddle.getAngle() + offset;
+            plot(CENTER_COLUMN + (int) (radius * Math.cos(angle)),
+                    CENTER_ROW + (int) (radius * Math.sin(angle) * ROW_ASPECT), '#');
+        }
+    }
+
+    private void plot(int column, int row, char c) {
+        if (column >= 0 && column < WIDTH && row >= 0 && row < HEIGHT) frame[row * WIDTH + column] = c;
+    }
+
+    private void moveCursor(int row, int column) {
+        out[length++] = 033;
+        out[length++] = '[';
+        appendNumber(row + 1);
+        out[length++] = ';';
+        appendNumber(column + 1);
+        out[length++] = 'H';
+    }
+
+    private void appendNumber(int value) {
+        if (value >= 10) appendNumber(value / 10);
+        out[length++] = (byte) ('0' + value % 10);
+    }
+
+    private void append(byte[] bytes) {
+        System.arraycopy(bytes, 0, out, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public static void main(String[] args) throws IOException {
+        GameMode mode = GameMode.AI_SOLO;
+        Ruleset ruleset = Ruleset.ENHANCED;
+        boolean planner = false;
+        long seed = System.nanoTime();
+        int rate = 60;
+        double seconds = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--mode=")) mode = GameMode.valueOf(arg.substring("--mode=".length()).toUpperCase());
+            else if (arg.equals("--classic")) ruleset = Ruleset.CLASSIC;
+            else if (arg.equals("--planner")) planner = true;
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring("--seed=".length()));
+            else if (arg.startsWith("--rate=")) rate = Integer.parseInt(arg.substring("--rate=".length()));
+            else if (arg.startsWith("--seconds=")) seconds = Double.parseDouble(arg.substring("--seconds=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+        if (mode == GameMode.HUMAN_VS_AI || mode == GameMode.TWO_HUMAN) {
+            throw new IllegalArgumentException("The terminal view has no keyboard input: use ai_solo or two_ai");
+        }
+
+        GameConfig config = ruleset.getDefaultConfig();
+        GameSimulation simulation = new GameSimulation(ruleset, mode, config, planner, new GameRandom(seed));
+        TerminalRenderer renderer = new TerminalRenderer(config);
+        // Frames are written whole and flushed once, so the terminal never shows half of one
+        PrintStream terminal = new PrintStream(new FileOutputStream(FileDescriptor.out), false);
+        long[] totals = new long[2]; // Frames, bytes
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            terminal.write(RESTORE, 0, RESTORE.length);
+            terminal.print("\033[" + (ROWS + 1) + ";1H");
+            terminal.flush();
+            long frames = totals[0];
+            if (frames > 0) {
+                System.err.printf("%d frames, %.1f bytes per frame on average (a full redraw is %d)%n",
+                        frames, (double) totals[1] / frames, fullFrameBytes());
+            }
+        }));
+
+        long tickNanos = rate > 0 ? 1_000_000_000L / rate : 0;
+        long start = System.nanoTime();
+        long end = seconds > 0 ? start + (long) (seconds * 1e9) : Long.MAX_VALUE;
+        long deadline = start;
+        while (System.nanoTime() < end) {
+            simulation.tick(config, 0, 0);
+            int bytes = renderer.render(simulation);
+            renderer.writeTo(terminal);
+            terminal.flush();
+            totals[0]++;
+            totals[1] += bytes;
+            if (tickNanos > 0) {
+                deadline += tickNanos;
+                long wait = deadline - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                else if (-wait > 5 * tickNanos) deadline = System.nanoTime(); // A stalled terminal drops ticks instead of bursting
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Headless front-ends: the match host and the command-line tools.
+ */
+module circlepong.server {
+    requires transitive circlepong.core; // Public tools take and return GameSimulation and GameConfig
+    requires circlepong.spectator;       // SpectatorLoadGenerator drives a SpectatorServer
+
+    exports circlepong.server;
+}
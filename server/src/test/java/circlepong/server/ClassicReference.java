@@ -0,0 +1,311 @@
+package circlepong.server;
+
+import circlepong.core.GameRandom;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Where the classic entries in {@code golden/traces.txt} come from: the physics, AI and scoring of the original
+ * CirclePong front-end from before it moved onto the shared core, copied verbatim with the drawing and Swing input
+ * taken out, {@code Math.random()} replaced by the scenario's {@link GameRandom} and the keys held by
+ * {@link GoldenTrace}'s script. It replays the classic scenarios and checks them against the file, so a failing
+ * classic trace can be told apart from a wrong recording. {@code GoldenTrace --record} re-records the classic entries
+ * from the core, so after a deliberate change to the classic rules this no longer matches and is only history.
+ *
+ * Usage: java -cp core/target/classes:server/target/classes:server/target/test-classes circlepong.server.ClassicReference
+ *            [--print] [--file=golden/traces.txt]
+ */
+public class ClassicReference {
+    private ClassicReference() {}
+
+    static List<String> trace(String name, OriginalCirclePong.GameMode mode, long seed, boolean glancing) {
+        OriginalCirclePong game = new OriginalCirclePong(mode, new GameRandom(seed));
+        if (glancing) {
+            game.ballX = GoldenTrace.GLANCING_X;
+            game.ballY = GoldenTrace.GLANCING_Y;
+            game.ballVelX = GoldenTrace.GLANCING_VEL_X;
+            game.ballVelY = GoldenTrace.GLANCING_VEL_Y;
+            game.paddle1Angle = GoldenTrace.GLANCING_LEFT_ANGLE;
+        }
+        CRC32 crc = new CRC32();
+        List<String> lines = new ArrayList<>();
+        lines.add("scenario " + name);
+        for (long tick = 1; tick <= GoldenTrace.TICKS; tick++) {
+            // Left is player 1 on the arrow keys, right is player 2 on A/D, as GameSimulation maps them
+            int left = GoldenTrace.scriptedDirection(tick, GoldenTrace.LEFT_INPUT_PERIOD);
+            int right = GoldenTrace.scriptedDirection(tick, GoldenTrace.RIGHT_INPUT_PERIOD);
+            game.leftPressed = left < 0;
+            game.rightPressed = left > 0;
+            game.aPressed = right < 0;
+            game.dPressed = right > 0;
+            game.updateGame();
+            GoldenTrace.addTick(lines, crc, tick, game.ballX, game.ballY, game.ballVelX, game.ballVelY,
+                    game.paddle1Angle, game.paddle2Angle, game.player1Score, game.player2Score);
+        }
+        return lines;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean print = false;
+        Path file = Paths.get("golden", "traces.txt");
+        for (String arg : args) {
+            if (arg.equals("--print")) print = true;
+            else if (arg.startsWith("--file=")) file = Paths.get(arg.substring("--file=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        // Same names and seeds as GoldenTrace's classic scenarios
+        List<String> actual = new ArrayList<>();
+        actual.addAll(trace("classic-two-player", OriginalCirclePong.GameMode.TWO_PLAYER, 1, false));
+        actual.addAll(trace("classic-single-player", OriginalCirclePong.GameMode.SINGLE_PLAYER, 2, false));
+        actual.addAll(trace("classic-auto-play", OriginalCirclePong.GameMode.AUTO_PLAY, 3, false));
+        actual.addAll(trace("classic-glancing-hit", OriginalCirclePong.GameMode.TWO_PLAYER, 8, true));
+        if (print) {
+            actual.forEach(System.out::println);
+            return;
+        }
+
+        List<String> expected = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : actual) {
+            if (line.startsWith("scenario ") && !expected.contains(line)) {
+                System.out.printf("MISSING %s in %s%n", line.substring("scenario ".length()), file);
+                System.exit(1);
+            }
+        }
+        int start = expected.indexOf(actual.get(0));
+        for (int i = 0; i < actual.size(); i++) {
+            String want = start + i < expected.size() ? expected.get(start + i) : "<end of file>";
+            if (!want.equals(actual.get(i))) {
+                System.out.printf("MISMATCH%n  in file:  %s%n  original: %s%n", want, actual.get(i));
+                System.exit(1);
+            }
+        }
+        System.out.printf("The classic scenarios in %s match the original CirclePong tick for tick%n", file);
+    }
+
+    /** The original game loop, as it was; only the randomness and the key state come from outside. */
+    @SuppressWarnings("all") // Kept as written, warts included
+    static final class OriginalCirclePong {
+        private static final int WINDOW_SIZE = 800;
+        private static final int CIRCLE_RADIUS = 300;
+        private static final int PADDLE_LENGTH = 60;
+        private static final int PADDLE_WIDTH = 10;
+        private static final int BALL_SIZE = 12;
+        private static final double PADDLE_SPEED = 0.05; // radians per frame
+        private static final double BALL_SPEED = 3.0;
+
+        /** Stands in for java.awt.Point, which the server module doesn't read. */
+        private static final class Point {
+            final int x, y;
+
+            Point(int x, int y) {
+                this.x = x;
+                this.y = y;
+            }
+        }
+
+        private final Point center = new Point(WINDOW_SIZE / 2, WINDOW_SIZE / 2);
+        private final GameRandom random;
+
+        // Paddle positions (in radians)
+        double paddle1Angle = 0; // Player 1 (bottom)
+        double paddle2Angle = Math.PI; // Player 2 (top)
+
+        // Ball properties
+        double ballX, ballY;
+        double ballVelX, ballVelY;
+
+        // Input handling
+        boolean leftPressed, rightPressed, aPressed, dPressed;
+
+        // Game state
+        int player1Score = 0, player2Score = 0;
+
+        // Game modes
+        enum GameMode { TWO_PLAYER, SINGLE_PLAYER, AUTO_PLAY }
+        private GameMode currentMode = GameMode.TWO_PLAYER;
+
+        // AI settings
+        private double aiReactionTime = 0.02; // Lower = faster AI
+        private double aiAccuracy = 0.85; // 0.0 to 1.0, higher = more accurate
+
+        OriginalCirclePong(GameMode mode, GameRandom random) {
+            this.currentMode = mode;
+            this.random = random;
+            resetBall();
+        }
+
+        private void resetBall() {
+            ballX = center.x;
+            ballY = center.y;
+
+            // Random initial direction
+            double angle = random.nextDouble() * 2 * Math.PI;
+            ballVelX = Math.cos(angle) * BALL_SPEED;
+            ballVelY = Math.sin(angle) * BALL_SPEED;
+        }
+
+        void updateGame() {
+            // Update paddle positions
+            if (currentMode == GameMode.AUTO_PLAY) {
+                // AI controls both paddles
+                updateAIPaddle(1);
+                updateAIPaddle(2);
+            } else if (currentMode == GameMode.SINGLE_PLAYER) {
+                // Player 1 manual, Player 2 AI
+                if (leftPressed) paddle1Angle -= PADDLE_SPEED;
+                if (rightPressed) paddle1Angle += PADDLE_SPEED;
+                updateAIPaddle(2);
+            } else {
+                // Two player mode
+                if (leftPressed) paddle1Angle -= PADDLE_SPEED;
+                if (rightPressed) paddle1Angle += PADDLE_SPEED;
+                if (aPressed) paddle2Angle -= PADDLE_SPEED;
+                if (dPressed) paddle2Angle += PADDLE_SPEED;
+            }
+
+            // Normalize angles
+            paddle1Angle = normalizeAngle(paddle1Angle);
+            paddle2Angle = normalizeAngle(paddle2Angle);
+
+            // Update ball position
+            ballX += ballVelX;
+            ballY += ballVelY;
+
+            // Check collision with circle boundary
+            double distFromCenter = Math.sqrt(Math.pow(ballX - center.x, 2) + Math.pow(ballY - center.y, 2));
+
+            if (distFromCenter >= CIRCLE_RADIUS - BALL_SIZE/2) {
+                // Check paddle collisions
+                double ballAngle = Math.atan2(ballY - center.y, ballX - center.x);
+                ballAngle = normalizeAngle(ballAngle);
+
+                boolean hitPaddle = false;
+
+                // Check collision with paddle 1
+                if (isAngleNearPaddle(ballAngle, paddle1Angle)) {
+                    reflectBallOffPaddle(paddle1Angle);
+                    hitPaddle = true;
+                }
+                // Check collision with paddle 2
+                else if (isAngleNearPaddle(ballAngle, paddle2Angle)) {
+                    reflectBallOffPaddle(paddle2Angle);
+                    hitPaddle = true;
+                }
+
+                if (!hitPaddle) {
+                    // Score based on which half the ball is in
+                    if (ballY < center.y) {
+                        player1Score++; // Ball hit top half, player 1 scores
+                    } else {
+                        player2Score++; // Ball hit bottom half, player 2 scores
+                    }
+                    resetBall();
+                }
+            }
+        }
+
+        private void updateAIPaddle(int playerNum) {
+            double currentPaddleAngle = (playerNum == 1) ? paddle1Angle : paddle2Angle;
+
+            // Predict where the ball will be when it reaches the circle edge
+            double predictedBallAngle = predictBallInterception();
+
+            if (predictedBallAngle != -1) {
+                // Calculate angle difference
+                double angleDiff = predictedBallAngle - currentPaddleAngle;
+
+                // Normalize angle difference to [-π, π]
+                while (angleDiff > Math.PI) angleDiff -= 2 * Math.PI;
+                while (angleDiff < -Math.PI) angleDiff += 2 * Math.PI;
+
+                // Add some imperfection to AI movement based on accuracy setting
+                if (random.nextDouble() > aiAccuracy) {
+                    angleDiff += (random.nextDouble() - 0.5) * 0.5; // Add some error
+                }
+
+                // Move paddle towards predicted position with reaction time delay
+                if (Math.abs(angleDiff) > aiReactionTime) {
+                    double moveDirection = angleDiff > 0 ? 1 : -1;
+                    double moveSpeed = PADDLE_SPEED * (0.5 + 0.5 * aiAccuracy); // AI speed based on accuracy
+
+                    if (playerNum == 1) {
+                        paddle1Angle += moveDirection * moveSpeed;
+                    } else {
+                        paddle2Angle += moveDirection * moveSpeed;
+                    }
+                }
+            }
+        }
+
+        private double predictBallInterception() {
+            // Simple prediction: calculate where ball will hit circle boundary
+            double futureX = ballX;
+            double futureY = ballY;
+            double futureVelX = ballVelX;
+            double futureVelY = ballVelY;
+
+            // Simulate ball movement for several steps
+            for (int i = 0; i < 100; i++) {
+                futureX += futureVelX;
+                futureY += futureVelY;
+
+                double distFromCenter = Math.sqrt(Math.pow(futureX - center.x, 2) + Math.pow(futureY - center.y, 2));
+
+                if (distFromCenter >= CIRCLE_RADIUS - BALL_SIZE/2) {
+                    // Ball will hit boundary here
+                    double interceptAngle = Math.atan2(futureY - center.y, futureX - center.x);
+                    return normalizeAngle(interceptAngle);
+                }
+            }
+
+            return -1; // Could not predict interception
+        }
+
+        private double normalizeAngle(double angle) {
+            while (angle < 0) angle += 2 * Math.PI;
+            while (angle >= 2 * Math.PI) angle -= 2 * Math.PI;
+            return angle;
+        }
+
+        private boolean isAngleNearPaddle(double ballAngle, double paddleAngle) {
+            double paddleArcLength = (double)PADDLE_LENGTH / CIRCLE_RADIUS;
+            double diff = Math.abs(normalizeAngle(ballAngle) - normalizeAngle(paddleAngle));
+            if (diff > Math.PI) diff = 2 * Math.PI - diff;
+            return diff <= paddleArcLength / 2;
+        }
+
+        private void reflectBallOffPaddle(double paddleAngle) {
+            // Calculate reflection vector
+            double normalX = Math.cos(paddleAngle);
+            double normalY = Math.sin(paddleAngle);
+
+            // Reflect velocity vector
+            double dot = ballVelX * normalX + ballVelY * normalY;
+            ballVelX = ballVelX - 2 * dot * normalX;
+            ballVelY = ballVelY - 2 * dot * normalY;
+
+            // Add some randomness to make gameplay more interesting
+            double randomFactor = 0.1;
+            ballVelX += (random.nextDouble() - 0.5) * randomFactor;
+            ballVelY += (random.nextDouble() - 0.5) * randomFactor;
+
+            // Maintain ball speed
+            double speed = Math.sqrt(ballVelX * ballVelX + ballVelY * ballVelY);
+            ballVelX = (ballVelX / speed) * BALL_SPEED;
+            ballVelY = (ballVelY / speed) * BALL_SPEED;
+
+            // Move ball slightly away from boundary to prevent sticking
+            double distFromCenter = Math.sqrt(Math.pow(ballX - center.x, 2) + Math.pow(ballY - center.y, 2));
+            ballX = center.x + (ballX - center.x) * (CIRCLE_RADIUS - BALL_SIZE) / distFromCenter;
+            ballY = center.y + (ballY - center.y) * (CIRCLE_RADIUS - BALL_SIZE) / distFromCenter;
+        }
+    }
+}
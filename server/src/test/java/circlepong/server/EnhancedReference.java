@@ -0,0 +1,512 @@
+package circlepong.server;
+
+import circlepong.core.GameMode;
+import circlepong.core.GameRandom;
+import circlepong.core.GameSimulation;
+import circlepong.core.Paddle;
+import circlepong.core.Ruleset;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * What the enhanced entries in {@code golden/traces.txt} are checked against: the ball, paddle, AI and scoring code
+ * of the original Enhanced Circle Pong front-end from before it moved onto the shared core, copied verbatim with the
+ * drawing, particles and Swing input taken out. The original drew from an unseeded {@code Random} in the ball and
+ * from {@code Math.random()} in the AI; here both draw from the scenario's {@link GameRandom}, in the order the core
+ * does, and the keys are held by {@link GoldenTrace}'s script.
+ *
+ * Each enhanced scenario is stepped side by side with the core and compared every tick. The one deliberate change
+ * since is allowed for: a paddle pushed past the edge of its half now stops at the edge, where the original refused
+ * the whole move. On a tick where the original refused a move and the core's paddle stopped at the edge instead,
+ * with nothing else different, the original's paddle is put at the edge too and the replay carries on. Any other
+ * difference fails the check, as does a checkpoint in the file that doesn't match the replay.
+ *
+ * Usage: java -cp core/target/classes:server/target/classes:server/target/test-classes circlepong.server.EnhancedReference
+ *            [--print] [--file=golden/traces.txt]
+ */
+public class EnhancedReference {
+    private EnhancedReference() {}
+
+    /** One scenario replayed on the original: its trace, cut at the tick the core parted from it if it did. */
+    private static final class Replay {
+        final List<String> lines = new ArrayList<>();
+        int edgeStops;       // Refused moves the core stopped at the edge instead
+        long divergedAt = -1;
+    }
+
+    private static Replay replay(GoldenTrace.Scenario scenario) {
+        OriginalEnhancedCirclePong game = new OriginalEnhancedCirclePong(original(scenario.mode), new GameRandom(scenario.seed));
+        GameSimulation simulation = GoldenTrace.start(scenario);
+        Replay replay = new Replay();
+        CRC32 crc = new CRC32();
+        replay.lines.add("scenario " + scenario.name);
+        for (long tick = 1; tick <= GoldenTrace.TICKS; tick++) {
+            int left = GoldenTrace.scriptedDirection(tick, GoldenTrace.LEFT_INPUT_PERIOD);
+            int right = GoldenTrace.scriptedDirection(tick, GoldenTrace.RIGHT_INPUT_PERIOD);
+            game.wPressed = left > 0;
+            game.sPressed = left < 0;
+            game.upPressed = right > 0;
+            game.downPressed = right < 0;
+            if (game.leftPaddle != null) game.leftPaddle.refusedMove = false;
+            game.rightPaddle.refusedMove = false;
+            game.updateGameState();
+            simulation.tick(scenario.ruleset.getDefaultConfig(), left, right);
+
+            if (!sameState(game, simulation)) {
+                if (game.leftPaddle != null && stopAtEdge(game.leftPaddle, simulation.getLeftPaddle())) replay.edgeStops++;
+                if (stopAtEdge(game.rightPaddle, simulation.getRightPaddle())) replay.edgeStops++;
+                if (!sameState(game, simulation)) {
+                    replay.divergedAt = tick;
+                    break;
+                }
+            }
+            double leftAngle = game.leftPaddle != null ? game.leftPaddle.getAngle() : Double.NaN;
+            double rightAngle = game.rightPaddle.getAngle();
+            GoldenTrace.addTick(replay.lines, crc, tick, game.ball.getX(), game.ball.getY(), game.ball.getVelX(),
+                    game.ball.getVelY(), leftAngle, rightAngle, game.leftPlayerScore, game.rightPlayerScore);
+        }
+        return replay;
+    }
+
+    /** Puts the original's paddle where the core's stopped, if it refused a move this tick and the core's is at an edge. */
+    private static boolean stopAtEdge(OriginalEnhancedCirclePong.Paddle paddle, Paddle corePaddle) {
+        double edge = corePaddle.getAngle();
+        if (!paddle.refusedMove || paddle.getAngle() == edge || (edge != Math.PI / 2 && edge != 3 * Math.PI / 2)) return false;
+        paddle.setAngle(edge);
+        return true;
+    }
+
+    private static boolean sameState(OriginalEnhancedCirclePong game, GameSimulation simulation) {
+        double leftAngle = game.leftPaddle != null ? game.leftPaddle.getAngle() : Double.NaN;
+        double rightAngle = game.rightPaddle.getAngle();
+        double coreLeft = simulation.getLeftPaddle() != null ? simulation.getLeftPaddle().getAngle() : Double.NaN;
+        double coreRight = simulation.getRightPaddle() != null ? simulation.getRightPaddle().getAngle() : Double.NaN;
+        return Double.compare(game.ball.getX(), simulation.getBall().getX()) == 0
+                && Double.compare(game.ball.getY(), simulation.getBall().getY()) == 0
+                && Double.compare(game.ball.getVelX(), simulation.getBall().getVelX()) == 0
+                && Double.compare(game.ball.getVelY(), simulation.getBall().getVelY()) == 0
+                && Double.compare(leftAngle, coreLeft) == 0
+                && Double.compare(rightAngle, coreRight) == 0
+                && game.leftPlayerScore == simulation.getLeftScore()
+                && game.rightPlayerScore == simulation.getRightScore();
+    }
+
+    private static OriginalEnhancedCirclePong.GameMode original(GameMode mode) {
+        return OriginalEnhancedCirclePong.GameMode.valueOf(mode.name());
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean print = false;
+        Path file = Paths.get("golden", "traces.txt");
+        for (String arg : args) {
+            if (arg.equals("--print")) print = true;
+            else if (arg.startsWith("--file=")) file = Paths.get(arg.substring("--file=".length()));
+            else throw new IllegalArgumentException("Unknown option: " + arg);
+        }
+
+        List<String> expected = print ? List.of() : Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (GoldenTrace.Scenario scenario : GoldenTrace.SCENARIOS) {
+            if (scenario.ruleset != Ruleset.ENHANCED) continue;
+            Replay replay = replay(scenario);
+            if (print) {
+                replay.lines.forEach(System.out::println);
+                continue;
+            }
+
+            if (replay.divergedAt >= 0) {
+                System.out.printf("DIVERGED in %s at tick %d, not by a paddle stopping at the edge of its half%n",
+                        scenario.name, replay.divergedAt);
+                System.exit(1);
+            }
+            int start = expected.indexOf(replay.lines.get(0));
+            if (start < 0) {
+                System.out.printf("MISSING %s in %s%n", scenario.name, file);
+                System.exit(1);
+            }
+            for (int i = 0; i < replay.lines.size(); i++) {
+                String want = start + i < expected.size() ? expected.get(start + i) : "<end of file>";
+                if (!want.equals(replay.lines.get(i))) {
+                    System.out.printf("MISMATCH in %s%n  in file:  %s%n  original: %s%n", scenario.name, want, replay.lines.get(i));
+                    System.exit(1);
+                }
+            }
+            System.out.printf("%s matches the original Enhanced Circle Pong tick for tick, with %d paddle moves "
+                    + "stopped at the edge of a half%n", scenario.name, replay.edgeStops);
+        }
+    }
+
+    /**
+     * The original game state and update, as they were; only the randomness and the key state come from outside, and
+     * the paddles note a refused move.
+     */
+    @SuppressWarnings("all") // Kept as written, warts included
+    static final class OriginalEnhancedCirclePong {
+        // Game Constants
+        private static final int WINDOW_WIDTH = 800;
+        private static final int WINDOW_HEIGHT = 800;
+        static final int GAME_AREA_RADIUS = 300;
+        private static final int PADDLE_WIDTH = 15;
+        private static final int PADDLE_LENGTH = 70;
+        private static final int BALL_DIAMETER = 15;
+        private static final double PADDLE_MOVEMENT_SPEED = 0.045;
+        static final double INITIAL_BALL_SPEED = 4.0;
+        public static double SPEED_INCREMENT_ON_HIT = 0.2;
+        public static double MAX_BALL_SPEED = 8.0;
+
+        /** Stands in for java.awt.Point, which the server module doesn't read. */
+        private static final class Point {
+            final int x, y;
+
+            Point(int x, int y) {
+                this.x = x;
+                this.y = y;
+            }
+        }
+
+        enum GameMode { HUMAN_VS_AI, TWO_HUMAN, TWO_AI, AI_SOLO }
+
+        // Game Components
+        Ball ball;
+        Paddle leftPaddle;
+        Paddle rightPaddle;
+        private AiController leftAi;
+        private AiController rightAi;
+
+        // Game State
+        private final GameMode activeGameMode;
+        int leftPlayerScore = 0;
+        int rightPlayerScore = 0;
+
+        // Input handling
+        boolean wPressed, sPressed, upPressed, downPressed;
+
+        private final GameRandom random; // Stands in for the ball's Random and the AI's Math.random()
+
+        OriginalEnhancedCirclePong(GameMode mode, GameRandom random) {
+            this.activeGameMode = mode;
+            this.random = random;
+            initializeGameComponents();
+        }
+
+        private int getWidth() { return WINDOW_WIDTH; }
+
+        private void initializeGameComponents() {
+            Point gameCenter = new Point(WINDOW_WIDTH / 2, WINDOW_HEIGHT / 2);
+            ball = new Ball(gameCenter, INITIAL_BALL_SPEED, BALL_DIAMETER);
+
+            if (activeGameMode == GameMode.AI_SOLO) {
+                // Solo mode: one paddle, one AI, full 360 movement
+                rightPaddle = new Paddle(gameCenter, GAME_AREA_RADIUS, PADDLE_LENGTH, PADDLE_WIDTH, PADDLE_MOVEMENT_SPEED, 0, 0); // PlayerID 0 for full movement
+                rightAi = new AiController(0.12, 0.95, gameCenter, GAME_AREA_RADIUS); // A responsive AI for solo play
+                leftPaddle = null; // No left paddle in this mode
+                leftAi = null;
+                leftPlayerScore = 0;
+                rightPlayerScore = 0;
+            } else {
+                // All other modes: two paddles are initialized
+                leftPaddle = new Paddle(gameCenter, GAME_AREA_RADIUS, PADDLE_LENGTH, PADDLE_WIDTH, PADDLE_MOVEMENT_SPEED, 1, Math.PI);
+                rightPaddle = new Paddle(gameCenter, GAME_AREA_RADIUS, PADDLE_LENGTH, PADDLE_WIDTH, PADDLE_MOVEMENT_SPEED, 2, 0);
+
+                leftAi = new AiController(0.1, 0.9, gameCenter, GAME_AREA_RADIUS);
+                rightAi = new AiController(0.1, 0.9, gameCenter, GAME_AREA_RADIUS);
+            }
+        }
+
+        void updateGameState() {
+            handlePlayerInput();
+            updateAi();
+            ball.update();
+            handleCollisions();
+        }
+
+        private void handlePlayerInput() {
+            // Human controls only apply if the left paddle exists and is player-controlled
+            if (leftPaddle != null && (activeGameMode == GameMode.TWO_HUMAN || activeGameMode == GameMode.HUMAN_VS_AI)) {
+                if (wPressed) leftPaddle.move(1);
+                if (sPressed) leftPaddle.move(-1);
+            }
+            if (rightPaddle != null && activeGameMode == GameMode.TWO_HUMAN) {
+                if (upPressed) rightPaddle.move(1);
+                if (downPressed) rightPaddle.move(-1);
+            }
+        }
+
+        private void updateAi() {
+            // AI updates are handled based on the current game mode
+            switch (activeGameMode) {
+                case HUMAN_VS_AI:
+                    if (rightAi != null) rightAi.updatePaddle(rightPaddle, ball);
+                    break;
+                case TWO_AI:
+                    if (leftAi != null) leftAi.updatePaddle(leftPaddle, ball);
+                    if (rightAi != null) rightAi.updatePaddle(rightPaddle, ball);
+                    break;
+                case AI_SOLO:
+                    if (rightAi != null) rightAi.updatePaddle(rightPaddle, ball);
+                    break;
+                default:
+                    // No AI action for TWO_HUMAN mode
+                    break;
+            }
+        }
+
+        private void handleCollisions() {
+            double ballDistance = ball.getDistanceFromCenter();
+            if (ballDistance >= GAME_AREA_RADIUS - ball.getSize() / 2.0) {
+                boolean collisionOccurred = false;
+
+                if (activeGameMode == GameMode.AI_SOLO) {
+                    // --- SOLO MODE COLLISION LOGIC ---
+                    if (rightPaddle.isAngleWithinPaddle(ball.getAngleFromCenter())) {
+                        ball.handlePaddleCollision(rightPaddle.getAngle());
+                        rightPlayerScore++; // Increment score on successful hit
+                        collisionOccurred = true;
+                    }
+                } else {
+                    // --- DUAL PADDLE COLLISION LOGIC ---
+                    double ballAngle = ball.getAngleFromCenter();
+                    Paddle paddleToCheck = ball.getX() < getWidth() / 2.0 ? leftPaddle : rightPaddle;
+                    if (paddleToCheck != null && paddleToCheck.isAngleWithinPaddle(ballAngle)) {
+                        ball.handlePaddleCollision(paddleToCheck.getAngle());
+                        // Increment score for the player who hit the ball
+                        if (ball.getX() < getWidth() / 2.0) {
+                            leftPlayerScore++;
+                        } else {
+                            rightPlayerScore++;
+                        }
+                        collisionOccurred = true;
+                    }
+                }
+
+                // --- HANDLE A MISS ---
+                if (!collisionOccurred) {
+                    if (activeGameMode == GameMode.AI_SOLO) {
+                        rightPlayerScore = 0; // Reset score on miss
+                    }
+                    else {
+                        rightPlayerScore = 0;
+                        leftPlayerScore = 0;
+                    }
+                    ball.reset();
+                }
+            }
+        }
+
+        final class Ball {
+            private double x, y, velX, velY, speed;
+            private final int size;
+            private final Point center;
+
+            public Ball(Point center, double speed, int size) {
+                this.center = center;
+                this.speed = speed;
+                this.size = size;
+                reset();
+            }
+
+            public void reset() {
+                x = center.x;
+                y = center.y;
+                double angle = random.nextDouble() * 2 * Math.PI;
+                speed = INITIAL_BALL_SPEED;
+                velX = Math.cos(angle) * speed;
+                velY = Math.sin(angle) * speed;
+            }
+
+            public void update() {
+                x += velX;
+                y += velY;
+            }
+
+            public void handlePaddleCollision(double paddleAngle) {
+                double normalX = Math.cos(paddleAngle);
+                double normalY = Math.sin(paddleAngle);
+                double dotProduct = velX * normalX + velY * normalY;
+
+                velX -= 2 * dotProduct * normalX;
+                velY -= 2 * dotProduct * normalY;
+
+                // Add slight randomness to the bounce
+                velX += (random.nextDouble() - 0.5) * 0.2;
+                velY += (random.nextDouble() - 0.5) * 0.2;
+
+                // Increment speed on hit but cap at maximum
+                speed = Math.min(MAX_BALL_SPEED, speed + SPEED_INCREMENT_ON_HIT);
+
+                // Normalize speed
+                double currentSpeed = Math.hypot(velX, velY);
+                velX = (velX / currentSpeed) * speed;
+                velY = (velY / currentSpeed) * speed;
+
+                // Push the ball away from the boundary to prevent it getting stuck
+                double distFromCenter = getDistanceFromCenter();
+                if (distFromCenter > GAME_AREA_RADIUS - size) {
+                    x = center.x + (x - center.x) * (GAME_AREA_RADIUS - size) / distFromCenter;
+                    y = center.y + (y - center.y) * (GAME_AREA_RADIUS - size) / distFromCenter;
+                }
+            }
+
+            public double getDistanceFromCenter() { return Math.hypot(x - center.x, y - center.y); }
+            public double getAngleFromCenter() { return Math.atan2(y - center.y, x - center.x); }
+            public double getX() { return x; }
+            public double getY() { return y; }
+            public double getVelX() { return velX; }
+            public double getVelY() { return velY; }
+            public int getSize() { return size; }
+            public double getSpeed() {
+                return speed;
+            }
+        }
+
+        final class Paddle {
+            private double angle;
+            private final Point center;
+            private final int radius, length, width;
+            private final double speed; // Max speed for human players
+            private final int playerId; // 0=Solo, 1=Left, 2=Right
+            boolean refusedMove;        // Set when a move is refused, cleared by the caller
+
+            public Paddle(Point center, int radius, int length, int width, double speed, int playerId, double initialAngle) {
+                this.center = center;
+                this.radius = radius;
+                this.length = length;
+                this.width = width;
+                this.speed = speed;
+                this.playerId = playerId;
+                this.angle = initialAngle;
+            }
+
+            public void move(int direction) {
+                double newAngle = angle + direction * speed;
+                if (isValidMove(newAngle)) {
+                    angle = newAngle;
+                    normalizeAngle();
+                } else {
+                    refusedMove = true;
+                }
+            }
+
+            public void moveBy(double angleDelta) {
+                // Clamp the AI's movement to a maximum speed
+                double maxMove = this.speed; // Allow AI to move slightly faster than players
+                angleDelta = Math.max(-maxMove, Math.min(maxMove, angleDelta));
+
+                double newAngle = angle + angleDelta;
+
+                if (isValidMove(newAngle)) {
+                    angle = newAngle;
+                    normalizeAngle();
+                } else {
+                    refusedMove = true;
+                }
+            }
+
+            private boolean isValidMove(double testAngle) {
+                // The solo AI (player 0) has no movement restrictions
+                if (playerId == 0) return true;
+
+                double normalized = normalizeAngleStatically(testAngle);
+                if (playerId == 1) { // Player 1 (left side): π/2 to 3π/2
+                    return normalized >= Math.PI / 2 && normalized <= 3 * Math.PI / 2;
+                } else { // Player 2 (right side): 3π/2 to π/2
+                    return normalized >= 3 * Math.PI / 2 || normalized <= Math.PI / 2;
+                }
+            }
+
+            private void normalizeAngle() {
+                angle = normalizeAngleStatically(angle);
+            }
+
+            private static double normalizeAngleStatically(double ang) {
+                while (ang < 0) ang += 2 * Math.PI;
+                while (ang >= 2 * Math.PI) ang -= 2 * Math.PI;
+                return ang;
+            }
+
+            public boolean isAngleWithinPaddle(double ballAngle) {
+                double paddleArc = (double) length / radius;
+                double normalizedBallAngle = normalizeAngleStatically(ballAngle);
+                double normalizedPaddleAngle = normalizeAngleStatically(angle);
+
+                double diff = Math.abs(normalizedBallAngle - normalizedPaddleAngle);
+                if (diff > Math.PI) diff = 2 * Math.PI - diff; // Get the shorter angle difference
+                return diff <= paddleArc / 2;
+            }
+
+            public double getAngle() { return angle; }
+            public void setAngle(double angle) { this.angle = angle; }
+        }
+
+        final class AiController {
+            private double responsiveness; // How quickly the AI reacts (higher is faster)
+            private double accuracy;       // How precise the AI is (higher is more accurate)
+            private final Point center;
+            private final int radius;
+
+            // A stable error offset to prevent jitter from random calculations each frame
+            private double currentInaccuracyOffset = 0.0;
+            private int framesUntilNextInaccuracyCheck = 0;
+
+            public AiController(double responsiveness, double accuracy, Point center, int radius) {
+                this.responsiveness = responsiveness;
+                this.accuracy = accuracy;
+                this.center = center;
+                this.radius = radius;
+            }
+
+            public void updatePaddle(Paddle paddle, Ball ball) {
+                double predictedAngle = predictBallInterceptAngle(ball);
+
+                if (predictedAngle != -1) {
+                    // --- Stable Inaccuracy Logic ---
+                    // Only recalculate the AI's "mistake" periodically, not every frame.
+                    framesUntilNextInaccuracyCheck--;
+                    if (framesUntilNextInaccuracyCheck <= 0) {
+                        if (random.nextDouble() > this.accuracy) {
+                            // The size of the error depends on the AI's accuracy level.
+                            double errorMagnitude = (1.0 - this.accuracy) * 0.6;
+                            this.currentInaccuracyOffset = (random.nextDouble() - 0.5) * errorMagnitude;
+                        } else {
+                            this.currentInaccuracyOffset = 0.0; // Perfect accuracy on this check
+                        }
+                        framesUntilNextInaccuracyCheck = 10 + (int)(random.nextDouble() * 15); // Check again in ~150-400ms
+                    }
+
+                    double targetAngle = predictedAngle + this.currentInaccuracyOffset;
+
+                    // --- Proportional Movement Logic ---
+                    double angleDifference = targetAngle - paddle.getAngle();
+                    while (angleDifference > Math.PI) angleDifference -= 2 * Math.PI;
+                    while (angleDifference < -Math.PI) angleDifference += 2 * Math.PI;
+
+                    double moveDelta = angleDifference * this.responsiveness;
+                    paddle.moveBy(moveDelta);
+                }
+            }
+
+            public double predictBallInterceptAngle(Ball ball) {
+                double currentX = ball.getX();
+                double currentY = ball.getY();
+                double currentVelX = ball.getVelX();
+                double currentVelY = ball.getVelY();
+
+                for (int i = 0; i < 120; i++) {
+                    currentX += currentVelX;
+                    currentY += currentVelY;
+                    double dist = Math.hypot(currentX - center.x, currentY - center.y);
+                    if (dist >= radius - ball.getSize() / 2.0) {
+                        return Math.atan2(currentY - center.y, currentX - center.x);
+                    }
+                }
+                return -1; // Prediction failed
+            }
+        }
+    }
+}
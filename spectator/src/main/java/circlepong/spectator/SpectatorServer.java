@@ -0,0 +1,305 @@
+package circlepong.spectator;
+
+import circlepong.core.Ball;
+import circlepong.core.GameSimulation;
+import circlepong.core.Paddle;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Streams the live match to remote viewers over WebSocket, on the loopback interface unless told otherwise.
+ * Each tick is encoded once into a slot of a shared direct buffer. A subscriber copies the newest frame into its
+ * own small buffer when it starts sending it, so a write that takes many ticks still sends the frame whole. A
+ * subscriber that is still sending an older frame simply skips to the newest one when it catches up, rather than
+ * queueing a backlog.
+ */
+public class SpectatorServer implements Runnable {
+    // Frame layout, little-endian: seq, mode, flags, 2 pad, ballX, ballY, ballSpeed, leftAngle, rightAngle, leftScore, rightScore
+    public static final int PAYLOAD_SIZE = 36;
+    public static final int FRAME_SIZE = 2 + PAYLOAD_SIZE; // WebSocket header (FIN + binary opcode, 7-bit length) + payload
+    public static final int FLAG_HAS_LEFT_PADDLE = 1;
+
+    private static final int RING_SLOTS = 64;        // Frames kept alive for subscribers that are copying one
+    private static final int MAX_HANDSHAKE_BYTES = 4096;
+    private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final ByteBuffer ring = ByteBuffer.allocateDirect(RING_SLOTS * FRAME_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer[] slots = new ByteBuffer[RING_SLOTS];
+    private volatile long latestSeq = -1;  // Published by the game thread once the slot is fully written
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final List<Subscriber> subscribers = new ArrayList<>();     // Selector thread only
+    private volatile int subscriberCount; // Mirrors subscribers.size() for other threads
+    private volatile boolean running = true;
+
+    /** A server for viewers on this machine only. */
+    public SpectatorServer(int port) throws IOException {
+        this(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /** A server on the given interface; the wildcard address opens it to every network this machine is on. */
+    public SpectatorServer(InetAddress bindAddress, int port) throws IOException {
+        for (int i = 0; i < RING_SLOTS; i++) {
+            ByteBuffer slot = ring.duplicate();
+            slot.position(i * FRAME_SIZE).limit((i + 1) * FRAME_SIZE);
+            slots[i] = slot.slice().order(ByteOrder.LITTLE_ENDIAN);
+            slots[i].put(0, (byte) 0x82).put(1, (byte) PAYLOAD_SIZE); // The header never changes
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(bindAddress, port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public void start() {
+        Thread thread = new Thread(this, "spectator-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    /** Encodes the current game state. Called from the game thread once per tick. */
+    public void publish(GameSimulation simulation) {
+        Ball ball = simulation.getBall();
+        Paddle leftPaddle = simulation.getLeftPaddle();
+        Paddle rightPaddle = simulation.getRightPaddle();
+        long seq = latestSeq + 1;
+        ByteBuffer slot = slots[(int) (seq % RING_SLOTS)];
+        slot.putInt(2, (int) seq);
+        slot.put(6, (byte) simulation.getMode().ordinal());
+        slot.put(7, (byte) (leftPaddle != null ? FLAG_HAS_LEFT_PADDLE : 0));
+        slot.putShort(8, (short) 0);
+        slot.putFloat(10, (float) ball.getX());
+        slot.putFloat(14, (float) ball.getY());
+        slot.putFloat(18, (float) ball.getSpeed());
+        slot.putFloat(22, leftPaddle != null ? (float) leftPaddle.getAngle() : Float.NaN);
+        slot.putFloat(26, rightPaddle != null ? (float) rightPaddle.getAngle() : Float.NaN);
+        slot.putInt(30, simulation.getLeftScore());
+        slot.putInt(34, simulation.getRightScore());
+        latestSeq = seq;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Subscriber subscriber = (Subscriber) key.attachment();
+                            if (key.isReadable()) subscriber.onReadable();
+                            if (key.isValid() && key.isWritable()) subscriber.onWritable();
+                        }
+                    } catch (IOException e) {
+                        closeQuietly(key);
+                    }
+                }
+                fanOut();
+            }
+        } catch (IOException e) {
+            System.err.println("Spectator server stopped: " + e.getMessage());
+        } finally {
+            for (Subscriber subscriber : subscribers) closeQuietly(subscriber.key);
+            try {
+                selector.close();
+                serverChannel.close();
+            } catch (IOException ignored) {
+                // Shutting down anyway
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Subscriber subscriber = new Subscriber(channel);
+            subscriber.key = channel.register(selector, SelectionKey.OP_READ, subscriber);
+            subscribers.add(subscriber);
+        }
+        subscriberCount = subscribers.size();
+    }
+
+    /** Hands the newest frame to every subscriber that is idle; busy ones pick it up when their write completes. */
+    private void fanOut() {
+        long seq = latestSeq;
+        if (seq < 0) return;
+        Iterator<Subscriber> it = subscribers.iterator();
+        while (it.hasNext()) {
+            Subscriber subscriber = it.next();
+            if (!subscriber.key.isValid()) {
+                it.remove();
+                continue;
+            }
+            try {
+                subscriber.offer(seq);
+            } catch (IOException e) {
+                closeQuietly(subscriber.key);
+                it.remove();
+            }
+        }
+        subscriberCount = subscribers.size();
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    /**
+     * One viewer connection: first the HTTP upgrade handshake, then a stream of frames.
+     */
+    private final class Subscriber {
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private ByteBuffer handshakeIn = ByteBuffer.allocate(MAX_HANDSHAKE_BYTES);
+        private ByteBuffer handshakeOut;
+        private final ByteBuffer discard = ByteBuffer.allocate(256);
+        private final ByteBuffer frame = ByteBuffer.allocateDirect(FRAME_SIZE); // This viewer's copy of the frame being sent
+        private boolean inFlight;        // frame holds bytes not yet written
+        private long inFlightSeq = -1;
+        private long lastSentSeq = -1;
+        private boolean waitingToWrite;  // OP_WRITE is registered; only touched on a partial write to avoid churn
+
+        Subscriber(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        boolean isStreaming() {
+            return handshakeIn == null && handshakeOut == null;
+        }
+
+        void onReadable() throws IOException {
+            if (handshakeIn == null) {
+                // Viewers have nothing to say; drain pings and close frames and watch for EOF
+                discard.clear();
+                if (channel.read(discard) < 0) throw new IOException("closed");
+                return;
+            }
+            if (channel.read(handshakeIn) < 0) throw new IOException("closed");
+            String request = new String(handshakeIn.array(), 0, handshakeIn.position(), StandardCharsets.ISO_8859_1);
+            if (!request.contains("\r\n\r\n")) {
+                if (!handshakeIn.hasRemaining()) throw new IOException("handshake too large");
+                return;
+            }
+            handshakeIn = null;
+            handshakeOut = ByteBuffer.wrap(upgradeResponse(request).getBytes(StandardCharsets.ISO_8859_1));
+            onWritable();
+        }
+
+        void onWritable() throws IOException {
+            if (handshakeOut != null) {
+                channel.write(handshakeOut);
+                if (handshakeOut.hasRemaining()) {
+                    setWaitingToWrite(true);
+                    return;
+                }
+                handshakeOut = null;
+                setWaitingToWrite(false);
+            }
+            if (inFlight) {
+                channel.write(frame);
+                if (frame.hasRemaining()) {
+                    setWaitingToWrite(true);
+                    return;
+                }
+                lastSentSeq = inFlightSeq;
+                inFlight = false;
+                setWaitingToWrite(false);
+            }
+            long seq = latestSeq;
+            if (seq > lastSentSeq) offer(seq);
+        }
+
+        /** Starts sending the given frame if nothing is in flight, dropping any frames in between. */
+        void offer(long seq) throws IOException {
+            if (!isStreaming() || inFlight || seq <= lastSentSeq) return;
+            inFlightSeq = copyFrame(seq);
+            inFlight = true;
+            onWritable();
+        }
+
+        /**
+         * Copies the frame for {@code seq} into this viewer's buffer and returns its sequence. If the game thread
+         * got round the ring to that slot during the copy, copies the newest frame instead.
+         */
+        private long copyFrame(long seq) {
+            while (true) {
+                frame.clear();
+                frame.put(0, slots[(int) (seq % RING_SLOTS)], 0, FRAME_SIZE);
+                VarHandle.loadLoadFence(); // The copy's reads come before the check below
+                long latest = latestSeq;
+                // publish() writes slot latest + 1 before publishing it, so the copy is whole unless that was this slot
+                if (latest - seq < RING_SLOTS - 1) return seq;
+                seq = latest;
+            }
+        }
+
+        private void setWaitingToWrite(boolean waiting) {
+            if (waiting == waitingToWrite) return;
+            waitingToWrite = waiting;
+            key.interestOps(waiting ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        private String upgradeResponse(String request) throws IOException {
+            String key = null;
+            for (String line : request.split("\r\n")) {
+                int colon = line.indexOf(':');
+                if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Key")) {
+                    key = line.substring(colon + 1).trim();
+                }
+            }
+            if (key == null) throw new IOException("not a WebSocket upgrade");
+            return "HTTP/1.1 101 Switching Protocols\r\n"
+                    + "Upgrade: websocket\r\n"
+                    + "Connection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + acceptKey(key) + "\r\n\r\n";
+        }
+    }
+
+    static String acceptKey(String clientKey) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            byte[] digest = sha1.digest((clientKey + WEBSOCKET_GUID).getBytes(StandardCharsets.ISO_8859_1));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is required by every JRE", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * The spectator broadcaster: streams a live match to WebSocket viewers. Its own module so the desktop game can
+ * offer spectating without depending on the headless server.
+ */
+module circlepong.spectator {
+    requires transitive circlepong.core; // publish() takes a GameSimulation
+
+    exports circlepong.spectator;
+}
@@ -0,0 +1,108 @@
+package circlepong.vector;
+
+import circlepong.core.GameConfig;
+
+/**
+ * Many balls in one arena layout, stored as primitive columns so a tick can sweep them in bulk: every ball moves
+ * by its velocity and is tested against the rim, and only the balls that reached it are handed back for the
+ * per-ball collision code. This is the bulk counterpart of {@link circlepong.core.Ball#update} plus the rim test
+ * in {@link circlepong.core.GameSimulation}.
+ *
+ * The rim test compares squared distances so it vectorises. It agrees with the per-ball test except for a ball
+ * within rounding error of the rim. The SIMD kernel needs {@code jdk.incubator.vector} in the module graph
+ * ({@code --add-modules jdk.incubator.vector}); without it the scalar kernel runs. Both give bit-identical results.
+ */
+public final class BallBatch {
+    /** How a step is computed. */
+    public enum Kernel { SCALAR, VECTOR }
+
+    /** Advances balls {@code [0, count)} and records the ones at or past the rim. */
+    interface StepKernel {
+        int step(double[] x, double[] y, double[] velX, double[] velY, int count,
+                 double centerX, double centerY, double rimSquared, int[] rimHits);
+    }
+
+    private final double[] x, y, velX, velY;
+    private final double centerX, centerY;
+    private final double rimSquared;
+    private final Kernel kernel;
+    private final StepKernel stepKernel;
+    private int count;
+
+    /** A batch on the fastest available kernel. */
+    public BallBatch(int capacity, int centerX, int centerY, GameConfig config) {
+        this(capacity, centerX, centerY, config, isVectorAvailable() ? Kernel.VECTOR : Kernel.SCALAR);
+    }
+
+    public BallBatch(int capacity, int centerX, int centerY, GameConfig config, Kernel kernel) {
+        if (kernel == Kernel.VECTOR && !isVectorAvailable()) {
+            throw new IllegalStateException("The vector kernel needs --add-modules jdk.incubator.vector");
+        }
+        x = new double[capacity];
+        y = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        this.centerX = centerX;
+        this.centerY = centerY;
+        // Same threshold as the per-ball check: the ball's edge touches the rim
+        double rimDistance = config.getArenaRadius() - config.getBallDiameter() / 2.0;
+        rimSquared = rimDistance * rimDistance;
+        this.kernel = kernel;
+        stepKernel = kernel == Kernel.VECTOR ? new VectorBallKernel() : BallBatch::stepScalar;
+    }
+
+    /** Whether the incubating Vector API was resolved at startup. */
+    public static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    /** Adds a ball and returns its index. */
+    public int add(double ballX, double ballY, double ballVelX, double ballVelY) {
+        if (count == x.length) throw new IllegalStateException("Batch is full at " + count + " balls");
+        set(count, ballX, ballY, ballVelX, ballVelY);
+        return count++;
+    }
+
+    public void set(int index, double ballX, double ballY, double ballVelX, double ballVelY) {
+        x[index] = ballX;
+        y[index] = ballY;
+        velX[index] = ballVelX;
+        velY[index] = ballVelY;
+    }
+
+    /**
+     * Moves every ball one tick. The indices of the balls at or past the rim go into {@code rimHits}, which needs
+     * room for the whole batch, in ascending order. Returns how many there were.
+     */
+    public int step(int[] rimHits) {
+        return stepKernel.step(x, y, velX, velY, count, centerX, centerY, rimSquared, rimHits);
+    }
+
+    static int stepScalar(double[] x, double[] y, double[] velX, double[] velY, int count,
+                          double centerX, double centerY, double rimSquared, int[] rimHits) {
+        return stepScalar(x, y, velX, velY, 0, count, centerX, centerY, rimSquared, rimHits, 0);
+    }
+
+    /** Scalar step over {@code [from, to)}, appending hits after {@code hitCount}. Also finishes the vector kernel's tail. */
+    static int stepScalar(double[] x, double[] y, double[] velX, double[] velY, int from, int to,
+                          double centerX, double centerY, double rimSquared, int[] rimHits, int hitCount) {
+        for (int i = from; i < to; i++) {
+            double newX = x[i] + velX[i];
+            double newY = y[i] + velY[i];
+            x[i] = newX;
+            y[i] = newY;
+            double dx = newX - centerX;
+            double dy = newY - centerY;
+            if (dx * dx + dy * dy >= rimSquared) rimHits[hitCount++] = i;
+        }
+        return hitCount;
+    }
+
+    public int size() { return count; }
+    public int capacity() { return x.length; }
+    public Kernel getKernel() { return kernel; }
+    public double getX(int index) { return x[index]; }
+    public double getY(int index) { return y[index]; }
+    public double getVelX(int index) { return velX[index]; }
+    public double getVelY(int index) { return velY[index]; }
+}
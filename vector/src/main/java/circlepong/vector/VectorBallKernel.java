@@ -0,0 +1,41 @@
+package circlepong.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BallBatch} step on the incubating Vector API: as many balls per instruction as the CPU's widest double
+ * vectors hold (4 with AVX2, 8 with AVX-512), with the leftover balls done by the scalar loop. Only loaded when
+ * {@code jdk.incubator.vector} is present. Uses separate multiply and add, no fused multiply-add, so results match
+ * the scalar kernel bit for bit.
+ */
+final class VectorBallKernel implements BallBatch.StepKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int step(double[] x, double[] y, double[] velX, double[] velY, int count,
+                    double centerX, double centerY, double rimSquared, int[] rimHits) {
+        int hitCount = 0;
+        int lanes = SPECIES.length();
+        int bound = SPECIES.loopBound(count);
+        int i = 0;
+        for (; i < bound; i += lanes) {
+            DoubleVector newX = DoubleVector.fromArray(SPECIES, x, i).add(DoubleVector.fromArray(SPECIES, velX, i));
+            DoubleVector newY = DoubleVector.fromArray(SPECIES, y, i).add(DoubleVector.fromArray(SPECIES, velY, i));
+            newX.intoArray(x, i);
+            newY.intoArray(y, i);
+            DoubleVector dx = newX.sub(centerX);
+            DoubleVector dy = newY.sub(centerY);
+            VectorMask<Double> atRim = dx.mul(dx).add(dy.mul(dy)).compare(VectorOperators.GE, rimSquared);
+            if (atRim.anyTrue()) {
+                // Rare: a ball reaches the rim every few dozen ticks, so unpacking the mask is off the hot path
+                for (long bits = atRim.toLong(); bits != 0; bits &= bits - 1) {
+                    rimHits[hitCount++] = i + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+        return BallBatch.stepScalar(x, y, velX, velY, i, count, centerX, centerY, rimSquared, rimHits, hitCount);
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Bulk ball kernels on the incubating Vector API. Kept out of the core, and out of the default build, because
+ * compiling against an incubator module always warns; build it with -Pvector. Without
+ * --add-modules jdk.incubator.vector at run time BallBatch falls back to its scalar kernel.
+ */
+module circlepong.vector {
+    requires transitive circlepong.core;
+    requires static jdk.incubator.vector;
+
+    exports circlepong.vector;
+}